@@ -0,0 +1,299 @@
+package top.offsetmonkey538.offsetconfig538.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates an <code>OffsetConfigStreamSerializer</code> for every record and class annotated with <code>@OffsetConfigType</code>.
+ * <br>
+ * The generated serializers read and write the components or fields of the type directly, using the typed methods of the object reader and writer
+ * for primitives, strings and arrays, so they don't need to be written by hand.
+ */
+@SupportedAnnotationTypes(OffsetConfigTypeProcessor.ANNOTATION)
+public class OffsetConfigTypeProcessor extends AbstractProcessor {
+    /**
+     * The name of the annotation this processor handles.
+     */
+    static final String ANNOTATION = "top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigType";
+    private static final String SUFFIX = "OffsetConfigSerializer";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                final TypeElement type = (TypeElement) element;
+
+                try {
+                    generate(type, getTypeName(type, annotation));
+                } catch (ProcessingException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element);
+                } catch (IOException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write serializer: " + e.getMessage(), type);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the type used in configs for the provided type from its annotation.
+     */
+    private String getTypeName(TypeElement type, TypeElement annotation) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().asElement().equals(annotation)) continue;
+
+            for (var entry : mirror.getElementValues().entrySet()) {
+                if (!entry.getKey().getSimpleName().contentEquals("value")) continue;
+
+                final AnnotationValue value = entry.getValue();
+                if (!value.getValue().toString().isEmpty()) return value.getValue().toString();
+            }
+        }
+
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void generate(TypeElement type, String typeName) throws ProcessingException, IOException {
+        if (type.getKind() != ElementKind.RECORD && type.getKind() != ElementKind.CLASS) throw new ProcessingException(type, "Only records and classes can be annotated with @OffsetConfigType!");
+        if (type.getModifiers().contains(Modifier.PRIVATE)) throw new ProcessingException(type, "Types annotated with @OffsetConfigType can't be private!");
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) throw new ProcessingException(type, "Nested types annotated with @OffsetConfigType need to be static!");
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) throw new ProcessingException(type, "Types annotated with @OffsetConfigType can't be abstract!");
+
+        final boolean isRecord = type.getKind() == ElementKind.RECORD;
+        final List<Property> properties = isRecord ? getRecordProperties(type) : getClassProperties(type);
+
+        final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        final String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        final String typeReference = type.getQualifiedName().toString();
+        final String serializerName = getFlatName(type) + SUFFIX;
+        final String visibility = type.getModifiers().contains(Modifier.PUBLIC) ? "public " : "";
+
+        final StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) source.append("package ").append(packageName).append(";\n\n");
+
+        source.append("import javax.annotation.processing.Generated;\n");
+        source.append("import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;\n");
+        source.append("import top.offsetmonkey538.offsetconfig538.serialization.ConfigObjectReader;\n");
+        source.append("import top.offsetmonkey538.offsetconfig538.serialization.ConfigObjectWriter;\n");
+        source.append("import top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigStreamSerializer;\n\n");
+
+        source.append("/**\n * Serializer for {@link ").append(typeReference).append("}, generated from its <code>@OffsetConfigType</code> annotation.\n */\n");
+        source.append("@Generated(\"").append(getClass().getName()).append("\")\n");
+        source.append(visibility).append("final class ").append(serializerName).append(" implements OffsetConfigStreamSerializer<").append(typeReference).append("> {\n\n");
+
+        // Read
+        source.append("    @Override\n");
+        source.append("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        source.append("    public ").append(typeReference).append(" read(ConfigObjectReader in) throws OffsetConfigException {\n");
+        if (isRecord) {
+            source.append("        return new ").append(typeReference).append("(");
+            for (int i = 0; i < properties.size(); i++) {
+                source.append(i == 0 ? "\n" : ",\n");
+                source.append("                ").append(readValue(properties.get(i)));
+            }
+            source.append("\n        );\n");
+        } else {
+            source.append("        final ").append(typeReference).append(" value = new ").append(typeReference).append("();\n");
+            for (Property property : properties) {
+                source.append("        value.").append(property.name).append(" = ").append(readValue(property)).append(";\n");
+            }
+            source.append("        return value;\n");
+        }
+        source.append("    }\n\n");
+
+        // Write
+        source.append("    @Override\n");
+        source.append("    public void write(ConfigObjectWriter out, ").append(typeReference).append(" value) throws OffsetConfigException {\n");
+        for (Property property : properties) {
+            source.append("        out.").append(getWriteMethod(property)).append("(\"").append(property.name).append("\", value.").append(property.name).append(isRecord ? "()" : "").append(");\n");
+        }
+        source.append("    }\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public Class<?> getTypeClass() {\n");
+        source.append("        return ").append(typeReference).append(".class;\n");
+        source.append("    }\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public String getType() {\n");
+        source.append("        return \"").append(escape(typeName)).append("\";\n");
+        source.append("    }\n");
+        source.append("}\n");
+
+        final String qualifiedName = packageName.isEmpty() ? serializerName : packageName + "." + serializerName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private List<Property> getRecordProperties(TypeElement type) throws ProcessingException {
+        final List<Property> properties = new ArrayList<>();
+
+        for (RecordComponentElement component : type.getRecordComponents()) {
+            properties.add(new Property(component, component.getSimpleName().toString(), component.asType()));
+        }
+
+        return properties;
+    }
+
+    private List<Property> getClassProperties(TypeElement type) throws ProcessingException {
+        final List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        final boolean hasConstructor = constructors.stream().anyMatch(constructor -> constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE));
+        if (!hasConstructor) throw new ProcessingException(type, "Classes annotated with @OffsetConfigType need a constructor without parameters that isn't private!");
+
+        final List<Property> properties = new ArrayList<>();
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            final Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) continue;
+
+            if (modifiers.contains(Modifier.PRIVATE)) throw new ProcessingException(field, "Fields of classes annotated with @OffsetConfigType can't be private!");
+            if (modifiers.contains(Modifier.FINAL)) throw new ProcessingException(field, "Fields of classes annotated with @OffsetConfigType can't be final!");
+
+            properties.add(new Property(field, field.getSimpleName().toString(), field.asType()));
+        }
+
+        return properties;
+    }
+
+    /**
+     * Gets the code that reads the value of the provided property from the object reader and converts it to the type of the property.
+     */
+    private String readValue(Property property) throws ProcessingException {
+        final String key = "\"" + property.name + "\"";
+        final TypeMirror type = property.type;
+
+        switch (type.getKind()) {
+            case INT -> {
+                return "in.readInt(" + key + ")";
+            }
+            case LONG -> {
+                return "in.readLong(" + key + ")";
+            }
+            case FLOAT -> {
+                return "in.readFloat(" + key + ")";
+            }
+            case DOUBLE -> {
+                return "in.readDouble(" + key + ")";
+            }
+            case BOOLEAN -> {
+                return "in.readBoolean(" + key + ")";
+            }
+            case ARRAY -> {
+                return readArray(property, key, ((ArrayType) type).getComponentType());
+            }
+            case DECLARED -> {
+                final String erasure = processingEnv.getTypeUtils().erasure(type).toString();
+
+                // Wrappers are read with the checked methods of their primitives, so numbers are only widened, and are null when missing.
+                return switch (erasure) {
+                    case "java.lang.String" -> "in.readString(" + key + ")";
+                    case "java.lang.Integer" -> "in.has(" + key + ") ? (Integer) in.readInt(" + key + ") : null";
+                    case "java.lang.Long" -> "in.has(" + key + ") ? (Long) in.readLong(" + key + ") : null";
+                    case "java.lang.Float" -> "in.has(" + key + ") ? (Float) in.readFloat(" + key + ") : null";
+                    case "java.lang.Double" -> "in.has(" + key + ") ? (Double) in.readDouble(" + key + ") : null";
+                    case "java.lang.Boolean" -> "in.has(" + key + ") ? (Boolean) in.readBoolean(" + key + ") : null";
+                    default -> "in.readObject(" + key + ", " + erasure + ".class)";
+                };
+            }
+            default -> throw new ProcessingException(property.element, "Type '" + type + "' isn't supported by @OffsetConfigType!");
+        }
+    }
+
+    private String readArray(Property property, String key, TypeMirror componentType) throws ProcessingException {
+        return switch (componentType.getKind()) {
+            case INT -> "in.readIntArray(" + key + ")";
+            case LONG -> "in.readLongArray(" + key + ")";
+            case FLOAT -> "in.readFloatArray(" + key + ")";
+            case DOUBLE -> "in.readDoubleArray(" + key + ")";
+            case BOOLEAN -> "in.readBooleanArray(" + key + ")";
+            case DECLARED -> "in.readArray(" + key + ", " + processingEnv.getTypeUtils().erasure(componentType) + ".class)";
+            default -> throw new ProcessingException(property.element, "Arrays of '" + componentType + "' aren't supported by @OffsetConfigType!");
+        };
+    }
+
+    /**
+     * Gets the name of the object writer method that writes the value of the provided property without boxing it.
+     */
+    private String getWriteMethod(Property property) {
+        return switch (property.type.getKind()) {
+            case INT -> "writeInt";
+            case LONG -> "writeLong";
+            case FLOAT -> "writeFloat";
+            case DOUBLE -> "writeDouble";
+            case BOOLEAN -> "writeBoolean";
+            default -> processingEnv.getTypeUtils().erasure(property.type).toString().equals("java.lang.String") ? "writeString" : "writeValue";
+        };
+    }
+
+    /**
+     * Gets the simple names of the provided type and the types it's nested in, separated by <code>_</code>.
+     */
+    private static String getFlatName(TypeElement type) {
+        final StringBuilder name = new StringBuilder(type.getSimpleName());
+
+        for (Element enclosing = type.getEnclosingElement(); enclosing instanceof TypeElement enclosingType; enclosing = enclosing.getEnclosingElement()) {
+            name.insert(0, '_').insert(0, enclosingType.getSimpleName());
+        }
+
+        return name.toString();
+    }
+
+    private static String escape(String string) {
+        return string.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * A record component or field of an annotated type.
+     *
+     * @param element The element of the component or field.
+     * @param name The name of the component or field.
+     * @param type The type of the component or field.
+     */
+    private record Property(Element element, String name, TypeMirror type) {
+
+    }
+
+    /**
+     * Thrown when an annotated type can't be serialized.
+     */
+    private static final class ProcessingException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Element element;
+
+        private ProcessingException(Element element, String message) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package top.offsetmonkey538.offsetconfig538.benchmark;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the timing benchmarks, each in a new JVM so the JIT profile of one benchmark doesn't affect the others.
+ * <br>
+ * Run with <code>gradle benchmark</code>. The names of the benchmarks to run can be passed with <code>--args</code>, all of them are run otherwise.
+ * Every benchmark is warmed up for {@value #WARMUP_ITERATIONS} iterations of one second, then {@value #MEASURED_ITERATIONS} iterations of one second
+ * are measured and the average time of one operation in each of them is printed, along with the bytes allocated by one operation.
+ * Timings vary a lot on busy machines, the allocated bytes don't.
+ * <br>
+ * The benchmarks only use API that was there before the parts they measure were changed, where possible,
+ * so a benchmark can be copied to an older commit to compare against it. Benchmarks are found by name when they're run,
+ * so the ones that don't compile on that commit can just be left out.
+ */
+public final class Benchmarks {
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 5;
+    private static final long ITERATION_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // The names of the benchmarks, mapped to the class and static method creating them.
+    private static final Map<String, String> BENCHMARKS = new LinkedHashMap<>();
+
+    static {
+        BENCHMARKS.put("parse", "ParserBenchmark#parse");
+        BENCHMARKS.put("parseStreamObjects", "StreamSerializerBenchmark#parseStreamObjects");
+        BENCHMARKS.put("parseMapObjects", "StreamSerializerBenchmark#parseMapObjects");
+        BENCHMARKS.put("recordSerializer", "RecordSerializerBenchmark#recordSerializer");
+        BENCHMARKS.put("handWrittenSerializer", "RecordSerializerBenchmark#handWrittenSerializer");
+    }
+
+    // Results of the operations are combined into this, so the JIT can't remove them.
+    private static int sink;
+    private static long operations;
+
+    private Benchmarks() {
+
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals("--run")) {
+            run(args[1]);
+            return;
+        }
+
+        final List<String> names = args.length == 0 ? List.copyOf(BENCHMARKS.keySet()) : List.of(args);
+        for (String name : names) {
+            if (!BENCHMARKS.containsKey(name)) throw new IllegalArgumentException("Unknown benchmark '" + name + "', expected one of " + BENCHMARKS.keySet() + "!");
+        }
+
+        final String java = ProcessHandle.current().info().command().orElse("java");
+        for (String name : names) {
+            final List<String> command = new ArrayList<>();
+            command.add(java);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(Benchmarks.class.getName());
+            command.add("--run");
+            command.add(name);
+
+            final int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+            if (exitCode != 0) throw new IllegalStateException("Benchmark '" + name + "' failed with exit code " + exitCode + "!");
+        }
+    }
+
+    private static void run(String name) throws Exception {
+        final String[] method = BENCHMARKS.get(name).split("#");
+        final Benchmark benchmark = (Benchmark) Class.forName(Benchmarks.class.getPackageName() + "." + method[0]).getDeclaredMethod(method[1]).invoke(null);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration(benchmark);
+        }
+
+        final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        operations = 0;
+
+        final double[] results = new double[MEASURED_ITERATIONS];
+        double total = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            results[i] = iteration(benchmark);
+            total += results[i];
+        }
+        final long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        final StringBuilder iterations = new StringBuilder();
+        for (double result : results) {
+            if (!iterations.isEmpty()) iterations.append(", ");
+            iterations.append(String.format("%.3f", result));
+        }
+        System.out.printf("%s: %.3f ms/op (%s), %d B/op%n", name, total / MEASURED_ITERATIONS, iterations, allocated / operations);
+        if (sink == 42) System.out.println();
+    }
+
+    /**
+     * Runs the benchmark for one second.
+     *
+     * @param benchmark the benchmark to run.
+     * @return the average time of one operation in milliseconds.
+     */
+    private static double iteration(Benchmark benchmark) throws Exception {
+        final long start = System.nanoTime();
+        long iterationOperations = 0;
+        long elapsed;
+
+        do {
+            sink += System.identityHashCode(benchmark.run());
+            iterationOperations++;
+        } while ((elapsed = System.nanoTime() - start) < ITERATION_NANOS);
+
+        operations += iterationOperations;
+        return elapsed / 1_000_000.0 / iterationOperations;
+    }
+
+    /**
+     * A single operation to measure, with everything it needs already set up.
+     */
+    @FunctionalInterface
+    interface Benchmark {
+        /**
+         * @return the result of the operation.
+         * @throws Exception when the operation fails.
+         */
+        Object run() throws Exception;
+    }
+}
@@ -0,0 +1,68 @@
+package top.offsetmonkey538.offsetconfig538.benchmark;
+
+import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
+import top.offsetmonkey538.offsetconfig538.parsing.Parser;
+
+/**
+ * Parses the fixtures of <code>ParserTest</code> repeated into a config with {@value #ENTRIES} entries.
+ */
+final class ParserBenchmark {
+    static final int ENTRIES = 10_000;
+
+    private ParserBenchmark() {
+
+    }
+
+    /**
+     * @return a benchmark parsing the config with {@link Parser#parse(String)}.
+     */
+    static Benchmarks.Benchmark parse() {
+        final Parser parser = new OffsetConfig538().getParser();
+        final String config = createConfig();
+
+        return () -> parser.parse(config);
+    }
+
+    /**
+     * Creates a config with blocks, comments, empty lines, every basic value and arrays, like the fixtures of <code>ParserTest</code>.
+     *
+     * @return a config with {@value #ENTRIES} entries.
+     */
+    static String createConfig() {
+        final StringBuilder config = new StringBuilder();
+
+        // Every group has 10 entries: the block and the 9 values in it.
+        for (int i = 0; i < ENTRIES / 10; i++) {
+            config.append("# A block containing an integer and a float\n");
+            config.append("iHaveEverything").append(i).append(":  \n");
+            config.append("    # An integer value\n");
+            config.append("    anInteger = ").append(1234 + i).append('\n');
+            config.append("    # A float value\n");
+            config.append("    aFloat = 12.34\n");
+            config.append("    aTrueBoolean = true\n");
+            config.append("    aFalseBoolean = false\n");
+            config.append("\n");
+            config.append("    aString = \"Hello, World!\"  \n");
+            config.append("    integerArray = Tint [\n");
+            config.append("        1234\n");
+            config.append("        4321\n");
+            config.append("        6789\n");
+            config.append("        9876\n");
+            config.append("    ]\n");
+            config.append("    floatArray = Tfloat [\n");
+            config.append("        12.34\n");
+            config.append("        43.21\n");
+            config.append("    ]\n");
+            config.append("    stringArray = Tstring [\n");
+            config.append("        \"Hello\"\n");
+            config.append("        \"World\"\n");
+            config.append("    ]\n");
+            config.append("    booleanArray = Tboolean [\n");
+            config.append("        true\n");
+            config.append("        false\n");
+            config.append("    ]\n");
+        }
+
+        return config.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package top.offsetmonkey538.offsetconfig538.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+import top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigSerializer;
+import top.offsetmonkey538.offsetconfig538.serialization.RecordSerializer;
+
+/**
+ * Serializes and deserializes {@value #RECORDS} records with five basic components,
+ * using a {@link RecordSerializer} and a hand-written serializer for the same record.
+ */
+final class RecordSerializerBenchmark {
+    static final int RECORDS = 1_000;
+
+    // Held in static finals, like a mod would hold its serializers, so the JIT can treat them as constants.
+    private static final OffsetConfigSerializer<Settings> RECORD_SERIALIZER = RecordSerializer.of(Settings.class);
+    private static final OffsetConfigSerializer<Settings> HAND_WRITTEN_SERIALIZER = new SettingsSerializer();
+
+    private RecordSerializerBenchmark() {
+
+    }
+
+    /**
+     * @return a benchmark round tripping the records through {@link RecordSerializer}.
+     */
+    static Benchmarks.Benchmark recordSerializer() {
+        final Settings[] records = createRecords();
+
+        return () -> roundTrip(RECORD_SERIALIZER, records);
+    }
+
+    /**
+     * @return a benchmark round tripping the records through a hand-written serializer.
+     */
+    static Benchmarks.Benchmark handWrittenSerializer() {
+        final Settings[] records = createRecords();
+
+        return () -> roundTrip(HAND_WRITTEN_SERIALIZER, records);
+    }
+
+    private static Object roundTrip(OffsetConfigSerializer<Settings> serializer, Settings[] records) throws OffsetConfigException {
+        final Map<String, Object> entries = new HashMap<>();
+        int result = 0;
+
+        for (Settings record : records) {
+            serializer.serialize(entries, record);
+            result += serializer.deserialize(entries).anInteger();
+        }
+
+        return result;
+    }
+
+    private static Settings[] createRecords() {
+        final Settings[] records = new Settings[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            records[i] = new Settings(i, i * 10_000_000_000L, i / 10f, i / 100.0, i % 2 == 0);
+        }
+        return records;
+    }
+
+    record Settings(int anInteger, long aLong, float aFloat, double aDouble, boolean aBoolean) {
+
+    }
+
+    static final class SettingsSerializer implements OffsetConfigSerializer<Settings> {
+        @Override
+        public Settings deserialize(Map<String, Object> entries) throws OffsetConfigException {
+            if (!(entries.get("anInteger") instanceof Integer anInteger)) throw new OffsetConfigException("Expected value of key '%s' to be an int, but got '%s'!", "anInteger", entries.get("anInteger"));
+            if (!(entries.get("aLong") instanceof Number aLong) || aLong instanceof Float || aLong instanceof Double) throw new OffsetConfigException("Expected value of key '%s' to be a long, but got '%s'!", "aLong", entries.get("aLong"));
+            if (!(entries.get("aFloat") instanceof Number aFloat) || aFloat instanceof Double) throw new OffsetConfigException("Expected value of key '%s' to be a float, but got '%s'!", "aFloat", entries.get("aFloat"));
+            if (!(entries.get("aDouble") instanceof Number aDouble)) throw new OffsetConfigException("Expected value of key '%s' to be a double, but got '%s'!", "aDouble", entries.get("aDouble"));
+            if (!(entries.get("aBoolean") instanceof Boolean aBoolean)) throw new OffsetConfigException("Expected value of key '%s' to be a boolean, but got '%s'!", "aBoolean", entries.get("aBoolean"));
+
+            return new Settings(anInteger, aLong.longValue(), aFloat.floatValue(), aDouble.doubleValue(), aBoolean);
+        }
+
+        @Override
+        public void serialize(Map<String, Object> entries, Settings value) {
+            entries.put("anInteger", value.anInteger());
+            entries.put("aLong", value.aLong());
+            entries.put("aFloat", value.aFloat());
+            entries.put("aDouble", value.aDouble());
+            entries.put("aBoolean", value.aBoolean());
+        }
+
+        @Override
+        public Class<?> getTypeClass() {
+            return Settings.class;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package top.offsetmonkey538.offsetconfig538.benchmark;
+
+import java.util.Map;
+import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+import top.offsetmonkey538.offsetconfig538.parsing.Parser;
+import top.offsetmonkey538.offsetconfig538.serialization.ConfigObjectReader;
+import top.offsetmonkey538.offsetconfig538.serialization.ConfigObjectWriter;
+import top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigSerializer;
+import top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigStreamSerializer;
+
+/**
+ * Parses {@value #OBJECTS} objects with five basic fields, using a stream serializer and a map-based serializer for the same objects.
+ */
+final class StreamSerializerBenchmark {
+    static final int OBJECTS = 20_000;
+
+    private StreamSerializerBenchmark() {
+
+    }
+
+    /**
+     * @return a benchmark parsing the objects with an {@link OffsetConfigStreamSerializer}.
+     */
+    static Benchmarks.Benchmark parseStreamObjects() {
+        return parse(new StreamPointSerializer());
+    }
+
+    /**
+     * @return a benchmark parsing the objects with an {@link OffsetConfigSerializer}.
+     */
+    static Benchmarks.Benchmark parseMapObjects() {
+        return parse(new MapPointSerializer());
+    }
+
+    private static Benchmarks.Benchmark parse(OffsetConfigSerializer<Point> serializer) {
+        final Parser parser = new OffsetConfig538().addSerializer(serializer).getParser();
+        final String config = createConfig();
+
+        return () -> parser.parseWithoutComments(config);
+    }
+
+    private static String createConfig() {
+        final StringBuilder config = new StringBuilder();
+
+        for (int i = 0; i < OBJECTS; i++) {
+            config.append("point").append(i).append(" = TPoint {\n");
+            config.append("    x = ").append(i).append('\n');
+            config.append("    y = 12345678901L\n");
+            config.append("    z = 12.34\n");
+            config.append("    w = 12.34D\n");
+            config.append("    visible = true\n");
+            config.append("}\n");
+        }
+
+        return config.toString();
+    }
+
+    record Point(int x, long y, float z, double w, boolean visible) {
+
+    }
+
+    static final class StreamPointSerializer implements OffsetConfigStreamSerializer<Point> {
+        @Override
+        public Point read(ConfigObjectReader in) throws OffsetConfigException {
+            return new Point(in.readInt("x"), in.readLong("y"), in.readFloat("z"), in.readDouble("w"), in.readBoolean("visible"));
+        }
+
+        @Override
+        public void write(ConfigObjectWriter out, Point value) throws OffsetConfigException {
+            out.writeInt("x", value.x());
+            out.writeLong("y", value.y());
+            out.writeFloat("z", value.z());
+            out.writeDouble("w", value.w());
+            out.writeBoolean("visible", value.visible());
+        }
+
+        @Override
+        public String getType() {
+            return "Point";
+        }
+
+        @Override
+        public Class<?> getTypeClass() {
+            return Point.class;
+        }
+    }
+
+    static final class MapPointSerializer implements OffsetConfigSerializer<Point> {
+        @Override
+        public Point deserialize(Map<String, Object> entries) throws OffsetConfigException {
+            if (entries.get("x") instanceof Integer x && entries.get("y") instanceof Long y && entries.get("z") instanceof Float z && entries.get("w") instanceof Double w && entries.get("visible") instanceof Boolean visible) {
+                return new Point(x, y, z, w, visible);
+            }
+            throw new OffsetConfigException("Invalid point '%s'!", entries);
+        }
+
+        @Override
+        public void serialize(Map<String, Object> entries, Point value) {
+            entries.put("x", value.x());
+            entries.put("y", value.y());
+            entries.put("z", value.z());
+            entries.put("w", value.w());
+            entries.put("visible", value.visible());
+        }
+
+        @Override
+        public String getType() {
+            return "Point";
+        }
+
+        @Override
+        public Class<?> getTypeClass() {
+            return Point.class;
+        }
+    }
+}
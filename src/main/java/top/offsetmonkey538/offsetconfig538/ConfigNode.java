@@ -0,0 +1,213 @@
+package top.offsetmonkey538.offsetconfig538;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A block or an entry in an OffsetConfig tree.
+ * <br>
+ * Every node has a comment and either a value or child nodes. Nodes without a value are blocks.
+ * Child nodes are stored by their own key, not by the full key containing the keys of their parents,
+ * so the tree doesn't need the full keys at all. {@link #toFlatMap()} can be used to get a map with full keys like the one returned by {@link top.offsetmonkey538.offsetconfig538.parsing.Parser#parse(String)}.
+ * <br>
+ * The root of a tree is a block without a key. Not thread-safe.
+ */
+public final class ConfigNode {
+    private final String key;
+    private String comment = "";
+    private Object value;
+    private Map<String, ConfigNode> children;
+
+    /**
+     * Constructs a new empty root node.
+     */
+    public ConfigNode() {
+        this(null);
+    }
+
+    private ConfigNode(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Creates a tree from a map with full keys, like the one returned by {@link top.offsetmonkey538.offsetconfig538.parsing.Parser#parse(String)}.
+     *
+     * @param entries The map containing the entries.
+     * @return the root of the tree.
+     * @see #toFlatMap()
+     */
+    public static ConfigNode fromFlatMap(Map<String, ConfigEntryWithComment> entries) {
+        final ConfigNode root = new ConfigNode();
+
+        for (Map.Entry<String, ConfigEntryWithComment> entry : entries.entrySet()) {
+            final ConfigNode node = root.getOrCreate(entry.getKey());
+            node.comment = entry.getValue().comment();
+            node.value = entry.getValue().value();
+        }
+
+        return root;
+    }
+
+    /**
+     * @return the key of this node without the keys of its parents or null if this is a root node.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return the comment of this node. Empty if there is no comment.
+     */
+    public String getComment() {
+        return comment;
+    }
+
+    /**
+     * @param comment the new comment of this node. Empty for no comment.
+     * @return this.
+     */
+    public ConfigNode setComment(String comment) {
+        this.comment = comment;
+        return this;
+    }
+
+    /**
+     * @return the value of this node or null if this is a block.
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * @param value the new value of this node. Null to make this a block.
+     * @return this.
+     */
+    public ConfigNode setValue(Object value) {
+        this.value = value;
+        return this;
+    }
+
+    /**
+     * @return if this node doesn't have a value.
+     */
+    public boolean isBlock() {
+        return value == null;
+    }
+
+    /**
+     * @return if this node has any child nodes.
+     */
+    public boolean hasChildren() {
+        return children != null && !children.isEmpty();
+    }
+
+    /**
+     * @return an unmodifiable view of the child nodes by their keys, in the order they were added.
+     */
+    public Map<String, ConfigNode> getChildren() {
+        if (children == null) return Collections.emptyMap();
+        return Collections.unmodifiableMap(children);
+    }
+
+    /**
+     * @param key the key of the child node, without the key of this node.
+     * @return the child node with the provided key or null if there isn't one.
+     */
+    public ConfigNode getChild(String key) {
+        if (children == null) return null;
+        return children.get(key);
+    }
+
+    /**
+     * Gets the child node with the provided key, adding a new empty one if there isn't one.
+     *
+     * @param key the key of the child node, without the key of this node.
+     * @return the child node with the provided key.
+     */
+    public ConfigNode getOrCreateChild(String key) {
+        if (children == null) children = new LinkedHashMap<>();
+
+        ConfigNode child = children.get(key);
+        if (child == null) {
+            child = new ConfigNode(key);
+            children.put(key, child);
+        }
+
+        return child;
+    }
+
+    /**
+     * Gets the node below this one with the provided full key, adding new empty nodes for it and its parents if they don't exist.
+     *
+     * @param fullKey the keys of the node and its parents below this node, separated by {@link OffsetConfig538#KEY_SEPARATOR}.
+     * @return the node with the provided full key.
+     * @see #find(String)
+     */
+    public ConfigNode getOrCreate(String fullKey) {
+        ConfigNode node = this;
+
+        int start = 0;
+        for (int end; (end = fullKey.indexOf(OffsetConfig538.KEY_SEPARATOR, start)) != -1; start = end + OffsetConfig538.KEY_SEPARATOR.length()) {
+            node = node.getOrCreateChild(fullKey.substring(start, end));
+        }
+
+        return node.getOrCreateChild(fullKey.substring(start));
+    }
+
+    /**
+     * @param key the key of the child node, without the key of this node.
+     * @return the removed child node or null if there wasn't one.
+     */
+    public ConfigNode removeChild(String key) {
+        if (children == null) return null;
+        return children.remove(key);
+    }
+
+    /**
+     * Finds a node below this one using a full key, like <code>block.nestedBlock.anInteger</code>.
+     *
+     * @param fullKey the keys of the node and its parents below this node, separated by {@link OffsetConfig538#KEY_SEPARATOR}.
+     * @return the node with the provided full key or null if there isn't one.
+     */
+    public ConfigNode find(String fullKey) {
+        ConfigNode node = this;
+
+        int start = 0;
+        for (int end; node != null && (end = fullKey.indexOf(OffsetConfig538.KEY_SEPARATOR, start)) != -1; start = end + OffsetConfig538.KEY_SEPARATOR.length()) {
+            node = node.getChild(fullKey.substring(start, end));
+        }
+
+        if (node == null) return null;
+        return node.getChild(fullKey.substring(start));
+    }
+
+    /**
+     * Creates a map of all nodes below this one with full keys, like the one returned by {@link top.offsetmonkey538.offsetconfig538.parsing.Parser#parse(String)}.
+     * Blocks have a null value.
+     *
+     * @return a map of full key to {@link ConfigEntryWithComment}, in the order of the tree.
+     * @see #fromFlatMap(Map)
+     */
+    public Map<String, ConfigEntryWithComment> toFlatMap() {
+        final Map<String, ConfigEntryWithComment> entries = new LinkedHashMap<>();
+        addToFlatMap(entries, new StringBuilder());
+        return entries;
+    }
+
+    private void addToFlatMap(Map<String, ConfigEntryWithComment> entries, StringBuilder fullKey) {
+        if (children == null) return;
+
+        // Reuse the same builder for every key, only the part for the current child is replaced.
+        final int parentLength = fullKey.length();
+        for (ConfigNode child : children.values()) {
+            if (parentLength != 0) fullKey.append(OffsetConfig538.KEY_SEPARATOR);
+            fullKey.append(child.key);
+
+            entries.put(fullKey.toString(), new ConfigEntryWithComment(child.comment, child.value));
+            child.addToFlatMap(entries, fullKey);
+
+            fullKey.setLength(parentLength);
+        }
+    }
+}
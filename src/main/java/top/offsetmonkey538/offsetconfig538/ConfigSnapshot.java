@@ -0,0 +1,185 @@
+package top.offsetmonkey538.offsetconfig538;
+
+import java.lang.reflect.Array;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable copy of the entries of a config, like the ones returned by {@link top.offsetmonkey538.offsetconfig538.parsing.Parser#parse(String)}.
+ * <br>
+ * The keys, comments and values are stored in arrays in the order of the config, with an open addressing hash table of indices into them
+ * for looking up keys. All fields are final, so a snapshot can be published through a volatile field and read from any number of threads
+ * without locking. A config is updated by replacing its snapshot with a new one, which never blocks readers of the old one.
+ * <br>
+ * Arrays, including arrays inside arrays, are copied when creating the snapshot and every time they are returned, so neither the entries
+ * the snapshot was created from nor a reader can change what other readers see. Other values are stored as they are,
+ * which is safe for the strings, numbers and booleans returned by the parser. Objects created by serializers need to be immutable for this to hold.
+ */
+public final class ConfigSnapshot {
+    private static final ConfigSnapshot EMPTY = new ConfigSnapshot(new String[0], new String[0], new Object[0]);
+
+    private final String[] keys;
+    private final String[] comments;
+    private final Object[] values;
+    /**
+     * Indices of the keys plus one by the hash of the key, 0 marks an empty slot. Its length is a power of two.
+     */
+    private final int[] table;
+
+    private ConfigSnapshot(String[] keys, String[] comments, Object[] values) {
+        this.keys = keys;
+        this.comments = comments;
+        this.values = values;
+
+        // Keep the table at most half full, so probing stays short.
+        this.table = new int[Math.max(2, Integer.highestOneBit(Math.max(1, keys.length) * 2 - 1) << 1)];
+        final int mask = table.length - 1;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = hash(keys[i]) & mask;
+            while (table[slot] != 0) slot = (slot + 1) & mask;
+            table[slot] = i + 1;
+        }
+    }
+
+    /**
+     * @return a snapshot without any entries.
+     */
+    public static ConfigSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a snapshot of the provided entries, keeping their order.
+     *
+     * @param entries The map containing the entries.
+     * @return the snapshot of the entries.
+     */
+    public static ConfigSnapshot of(Map<String, ConfigEntryWithComment> entries) {
+        final String[] keys = new String[entries.size()];
+        final String[] comments = new String[keys.length];
+        final Object[] values = new Object[keys.length];
+
+        int i = 0;
+        for (Map.Entry<String, ConfigEntryWithComment> entry : entries.entrySet()) {
+            keys[i] = entry.getKey();
+            comments[i] = entry.getValue().comment();
+            values[i] = copyArrays(entry.getValue().value());
+            i++;
+        }
+
+        return new ConfigSnapshot(keys, comments, values);
+    }
+
+    /**
+     * @return the number of entries.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * @param key The full key of the entry.
+     * @return true if there is an entry with the provided key.
+     */
+    public boolean contains(String key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * @param key The full key of the entry.
+     * @return the value of the entry with the provided key, or null if there is none. Arrays are copied.
+     */
+    public Object get(String key) {
+        final int index = indexOf(key);
+        return index < 0 ? null : copyArrays(values[index]);
+    }
+
+    /**
+     * Gets the value of the entry with the provided key as the provided type.
+     *
+     * @param key The full key of the entry.
+     * @param type The type of the value.
+     * @param defaultValue The value to return when there is no entry with the provided key.
+     * @param <T> The type of the value.
+     * @return the value of the entry with the provided key, or the default value if there is none. Arrays are copied.
+     * @throws ClassCastException when the value isn't of the provided type.
+     */
+    public <T> T get(String key, Class<T> type, T defaultValue) {
+        final int index = indexOf(key);
+        return index < 0 ? defaultValue : type.cast(copyArrays(values[index]));
+    }
+
+    /**
+     * @param key The full key of the entry.
+     * @return the comment of the entry with the provided key, or null if there is none. Empty if the entry doesn't have a comment.
+     */
+    public String getComment(String key) {
+        final int index = indexOf(key);
+        return index < 0 ? null : comments[index];
+    }
+
+    /**
+     * Calls the provided action with the key and value of every entry, in the order of the config. Arrays are copied.
+     *
+     * @param action The action to call.
+     */
+    public void forEach(BiConsumer<String, Object> action) {
+        for (int i = 0; i < keys.length; i++) {
+            action.accept(keys[i], copyArrays(values[i]));
+        }
+    }
+
+    /**
+     * Copies the entries into a new map, which can be passed to the generator. Arrays are copied as well.
+     *
+     * @return a new map of String key to {@link ConfigEntryWithComment} value.
+     */
+    public Map<String, ConfigEntryWithComment> toMap() {
+        final Map<String, ConfigEntryWithComment> entries = new LinkedHashMap<>((int) (keys.length / 0.75f) + 1);
+
+        for (int i = 0; i < keys.length; i++) {
+            entries.put(keys[i], new ConfigEntryWithComment(comments[i], copyArrays(values[i])));
+        }
+
+        return entries;
+    }
+
+    private int indexOf(String key) {
+        final int mask = table.length - 1;
+
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            final int index = table[slot] - 1;
+            if (index < 0) return -1;
+            if (keys[index].equals(key)) return index;
+        }
+    }
+
+    /**
+     * Copies the provided value if it's an array, along with any arrays in it.
+     *
+     * @param value the value to copy.
+     * @return a copy of the value if it's an array, otherwise the value itself.
+     */
+    private static Object copyArrays(Object value) {
+        if (value == null || !value.getClass().isArray()) return value;
+
+        final int length = Array.getLength(value);
+        final Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+        System.arraycopy(value, 0, copy, 0, length);
+
+        if (copy instanceof Object[] elements) {
+            for (int i = 0; i < length; i++) {
+                elements[i] = copyArrays(elements[i]);
+            }
+        }
+
+        return copy;
+    }
+
+    private static int hash(String key) {
+        // Spread the high bits down, as only the low bits select the slot.
+        final int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -1,10 +1,17 @@
 package top.offsetmonkey538.offsetconfig538;
 
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import top.offsetmonkey538.offsetconfig538.generating.Generator;
 import top.offsetmonkey538.offsetconfig538.parsing.Parser;
 import top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigSerializer;
+import top.offsetmonkey538.offsetconfig538.serialization.RecordSerializer;
 
 /**
  * Stores constants for the config format and is used to register serializers.
@@ -53,8 +60,15 @@ public class OffsetConfig538 {
     public static final String KEY_SEPARATOR = ".";
 
 
-    private final Map<String, OffsetConfigSerializer<?>> serializersByType = new HashMap<>();
-    private final Map<Class<?>, OffsetConfigSerializer<?>> serializersByTypeClass = new HashMap<>();
+    // Concurrent, as serializers are looked up by parsers used from multiple threads.
+    private final Map<String, OffsetConfigSerializer<?>> serializersByType = new ConcurrentHashMap<>();
+    private final Map<Class<?>, OffsetConfigSerializer<?>> serializersByTypeClass = new ConcurrentHashMap<>();
+    // Replaced when serializers are added, as it caches the serializer found for each class.
+    private volatile ClassValue<Optional<OffsetConfigSerializer<?>>> resolvedSerializers = newResolvedSerializers();
+
+    private final Parser parser = new Parser(this);
+    // Replaced when serializers are added, as it caches how the objects of each serializer are written.
+    private volatile Generator generator = new Generator(this);
 
     /**
      * Adds the provided serializers to both of the serializer maps.
@@ -67,14 +81,19 @@ public class OffsetConfig538 {
             this.serializersByType.put(serializer.getType(), serializer);
             this.serializersByTypeClass.put(serializer.getTypeClass(), serializer);
         }
+        this.resolvedSerializers = newResolvedSerializers();
+        this.generator = new Generator(this);
         return this;
     }
 
     /**
      * Used to get the serializer for the provided type.
+     * <br>
+     * Only added serializers are used. The types come from the config content, which shouldn't be able to choose which classes are created,
+     * so records need their {@link RecordSerializer} to be added to be parsed.
      *
      * @param type the type the serializer should be for.
-     * @return the serializer for the provided type.
+     * @return the serializer for the provided type or null if there isn't one.
      * @see #getSerializerByTypeClass(Class)
      */
     public OffsetConfigSerializer<?> getSerializerByType(String type) {
@@ -83,30 +102,86 @@ public class OffsetConfig538 {
 
     /**
      * Used to get the serializer for the provided type class.
+     * <br>
+     * When no serializer was added for the type class, the serializer of its closest superclass is used,
+     * then the serializer of its closest interface. When there isn't one either and the type class is a record, its {@link RecordSerializer} is used.
+     * Record serializers found like this are only used for serializing, parsing the record needs the serializer to be added.
+     * The serializer found for each class is cached until serializers are added.
      *
      * @param typeClass the type class the serializer should be for.
-     * @return the serializer for the provided type class.
+     * @return the serializer for the provided type class or null if there isn't one.
      * @see #getSerializerByType(String)
      */
     public OffsetConfigSerializer<?> getSerializerByTypeClass(Class<?> typeClass) {
-        return this.serializersByTypeClass.get(typeClass);
+        return this.resolvedSerializers.get(typeClass).orElse(null);
+    }
+
+    private ClassValue<Optional<OffsetConfigSerializer<?>>> newResolvedSerializers() {
+        return new ClassValue<>() {
+            @Override
+            protected Optional<OffsetConfigSerializer<?>> computeValue(Class<?> typeClass) {
+                return Optional.ofNullable(resolveSerializer(typeClass));
+            }
+        };
+    }
+
+    private OffsetConfigSerializer<?> resolveSerializer(Class<?> typeClass) {
+        OffsetConfigSerializer<?> serializer;
+
+        for (Class<?> type = typeClass; type != null; type = type.getSuperclass()) {
+            serializer = this.serializersByTypeClass.get(type);
+            if (serializer != null) return serializer;
+        }
+
+        // Search the interfaces breadth-first, so the closest one wins.
+        final Queue<Class<?>> interfaces = new ArrayDeque<>();
+        final Set<Class<?>> visited = new HashSet<>();
+        for (Class<?> type = typeClass; type != null; type = type.getSuperclass()) {
+            Collections.addAll(interfaces, type.getInterfaces());
+        }
+        while (!interfaces.isEmpty()) {
+            final Class<?> type = interfaces.remove();
+            if (!visited.add(type)) continue;
+
+            serializer = this.serializersByTypeClass.get(type);
+            if (serializer != null) return serializer;
+
+            Collections.addAll(interfaces, type.getInterfaces());
+        }
+
+        if (typeClass.isRecord()) return getRecordSerializer(typeClass);
+        return null;
+    }
+
+    private static OffsetConfigSerializer<?> getRecordSerializer(Class<?> typeClass) {
+        try {
+            return RecordSerializer.of(typeClass.asSubclass(Record.class));
+        } catch (IllegalArgumentException e) {
+            // The record has components that can't be serialized or can't be accessed.
+            return null;
+        }
     }
 
     /**
-     * Creates a new {@link Parser}.
+     * Gets the {@link Parser} for this instance.
+     * <br>
+     * Parsers don't have any state of their own, so the same one is returned every time and can be used from multiple threads at once.
      *
-     * @return a new {@link Parser}.
+     * @return the {@link Parser} for this instance.
      */
     public Parser getParser() {
-        return new Parser(this);
+        return parser;
     }
 
     /**
-     * Creates a new {@link Generator}.
+     * Gets the {@link Generator} for this instance.
+     * <br>
+     * Generators don't have any state of their own apart from caches, so the same one is returned every time and can be used from multiple threads at once.
+     * A new one is created when serializers are added.
      *
-     * @return a new {@link Generator}.
+     * @return the {@link Generator} for this instance.
      */
     public Generator getGenerator() {
-        return new Generator(this);
+        return generator;
     }
 }
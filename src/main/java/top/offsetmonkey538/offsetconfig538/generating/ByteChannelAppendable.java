@@ -0,0 +1,165 @@
+package top.offsetmonkey538.offsetconfig538.generating;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Encodes appended characters as UTF-8 straight into a {@link ByteBuffer}, which is written to a channel whenever it's full.
+ * <br>
+ * ASCII characters, which most configs only contain, are copied into the buffer one byte each without any other checks.
+ * Unpaired surrogates are written as <code>?</code>, like {@link String#getBytes(java.nio.charset.Charset)} does.
+ */
+final class ByteChannelAppendable implements Appendable {
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    // A high surrogate from the end of the previous append, waiting for its low surrogate.
+    private char highSurrogate;
+
+    /**
+     * Constructs a new ByteChannelAppendable.
+     *
+     * @param channel the channel to write the encoded characters to.
+     * @param buffer the buffer to encode the characters into. Needs to have space for at least 4 bytes. Is cleared before use.
+     */
+    ByteChannelAppendable(WritableByteChannel channel, ByteBuffer buffer) {
+        if (buffer.capacity() < 4) throw new IllegalArgumentException("Buffer needs to have space for at least 4 bytes!");
+
+        this.channel = channel;
+        this.buffer = buffer;
+        buffer.clear();
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        int i = start;
+
+        while (i < end) {
+            // Copy as many ASCII characters as fit into the buffer.
+            final int asciiEnd = Math.min(end, i + buffer.remaining());
+            char c;
+            while (i < asciiEnd && (c = csq.charAt(i)) < 0x80 && highSurrogate == 0) {
+                buffer.put((byte) c);
+                i++;
+            }
+
+            if (i == end) break;
+            if (i == asciiEnd) {
+                flush();
+                continue;
+            }
+
+            append(csq.charAt(i++));
+        }
+
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+        if (buffer.remaining() < 4) flush();
+
+        if (highSurrogate != 0) {
+            final char high = highSurrogate;
+            highSurrogate = 0;
+
+            if (Character.isLowSurrogate(c)) {
+                putCodePoint(Character.toCodePoint(high, c));
+                return this;
+            }
+
+            buffer.put((byte) '?');
+            return append(c);
+        }
+
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | c >> 6));
+            buffer.put((byte) (0x80 | c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer.put((byte) '?');
+        } else {
+            buffer.put((byte) (0xE0 | c >> 12));
+            buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+            buffer.put((byte) (0x80 | c & 0x3F));
+        }
+
+        return this;
+    }
+
+    /**
+     * Appends the decimal digits of the provided number straight into the buffer, without creating a String.
+     *
+     * @param value the number to append.
+     * @throws IOException when writing to the channel fails.
+     */
+    void appendLong(long value) throws IOException {
+        // The minimum value can't be negated, a pending high surrogate needs to be written as a character first
+        // and the digits of a long need up to 20 bytes, which a small buffer might not have.
+        if (value == Long.MIN_VALUE || highSurrogate != 0 || buffer.capacity() < 20) {
+            append(Long.toString(value));
+            return;
+        }
+        if (buffer.remaining() < 20) flush();
+
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+
+        int length = 1;
+        for (long remaining = value; remaining >= 10; remaining /= 10) {
+            length++;
+        }
+
+        // Digits are put from the last one to the first one.
+        final int start = buffer.position();
+        for (int i = start + length - 1; i >= start; i--) {
+            buffer.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buffer.position(start + length);
+    }
+
+    private void putCodePoint(int codePoint) {
+        buffer.put((byte) (0xF0 | codePoint >> 18));
+        buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+        buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+        buffer.put((byte) (0x80 | codePoint & 0x3F));
+    }
+
+    /**
+     * Writes everything in the buffer to the channel.
+     *
+     * @throws IOException when writing to the channel fails.
+     */
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes everything in the buffer to the channel, including a high surrogate that was never followed by a low surrogate.
+     *
+     * @throws IOException when writing to the channel fails.
+     */
+    void finish() throws IOException {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            if (!buffer.hasRemaining()) flush();
+            buffer.put((byte) '?');
+        }
+        flush();
+    }
+}
@@ -0,0 +1,189 @@
+package top.offsetmonkey538.offsetconfig538.generating;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import top.offsetmonkey538.offsetconfig538.ConfigEntryWithComment;
+import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
+
+/**
+ * Saves configs on a background thread.
+ * <br>
+ * Saves can be requested from any thread and return immediately. A save is written after the configured delay,
+ * and saving the same file again before that only replaces the entries to write, so the file is written once.
+ * <br>
+ * Files are first generated into a temporary file in the same directory, which then replaces the file in a single move,
+ * so the file never contains a partially written config.
+ */
+public final class ConfigSaver implements AutoCloseable {
+    private final OffsetConfig538 offsetConfig538;
+    private final long delayNanos;
+    private final boolean sync;
+    private final ScheduledThreadPoolExecutor executor;
+
+    // Guarded by this.
+    private final Map<Path, PendingSave> pendingSaves = new HashMap<>();
+    private boolean closed;
+
+    /**
+     * Constructs a new ConfigSaver.
+     *
+     * @param offsetConfig538 The instance whose generator generates the configs. Its current generator is used for every write,
+     *                        so serializers added to it later are used as well.
+     * @param delay How long to wait before writing a file, during which saves of the same file are combined.
+     * @param sync If the content of each file should be forced to the storage device before it replaces the old file.
+     */
+    public ConfigSaver(OffsetConfig538 offsetConfig538, Duration delay, boolean sync) {
+        this.offsetConfig538 = offsetConfig538;
+        this.delayNanos = delay.toNanos();
+        this.sync = sync;
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "OffsetConfig538 Saver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Saves are flushed when closing, so delayed writes don't have anything left to do after that.
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.executor = executor;
+    }
+
+    /**
+     * Requests the provided entries to be written to the file at the provided path, encoded as UTF-8.
+     * <br>
+     * The map is copied, but the values in it are generated later on the background thread, so they shouldn't be changed after this.
+     *
+     * @param path The path of the file to write to.
+     * @param entries The map containing the entries.
+     * @return a future completed when the file is written, shared with the other saves of the file it was combined with.
+     * @throws IllegalStateException when the saver is closed.
+     * @see Generator#generate(Map, java.nio.channels.WritableByteChannel)
+     */
+    public CompletableFuture<Void> save(Path path, Map<String, ConfigEntryWithComment> entries) {
+        final Path file = path.toAbsolutePath().normalize();
+        final Map<String, ConfigEntryWithComment> copy = new LinkedHashMap<>(entries);
+
+        synchronized (this) {
+            if (closed) throw new IllegalStateException("Saver is closed!");
+
+            PendingSave pendingSave = pendingSaves.get(file);
+            if (pendingSave != null) {
+                pendingSave.entries = copy;
+                return pendingSave.future;
+            }
+
+            pendingSave = new PendingSave(copy);
+            pendingSaves.put(file, pendingSave);
+            executor.schedule(() -> write(file), delayNanos, TimeUnit.NANOSECONDS);
+
+            return pendingSave.future;
+        }
+    }
+
+    /**
+     * Starts writing all requested saves without waiting for their delay.
+     *
+     * @return a future completed when all of them are written.
+     */
+    public CompletableFuture<Void> flush() {
+        synchronized (this) {
+            final CompletableFuture<?>[] futures = new CompletableFuture<?>[pendingSaves.size()];
+
+            int i = 0;
+            for (Map.Entry<Path, PendingSave> pendingSave : pendingSaves.entrySet()) {
+                final Path file = pendingSave.getKey();
+                futures[i++] = pendingSave.getValue().future;
+                // The scheduled write finds nothing to do after this.
+                executor.execute(() -> write(file));
+            }
+
+            return CompletableFuture.allOf(futures);
+        }
+    }
+
+    /**
+     * Writes all requested saves and waits until they are written. No saves can be requested after this.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+
+            flush();
+            closed = true;
+        }
+
+        executor.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void write(Path file) {
+        final PendingSave pendingSave;
+        synchronized (this) {
+            pendingSave = pendingSaves.remove(file);
+        }
+        if (pendingSave == null) return;
+
+        Path temporaryFile = null;
+        try {
+            // Other savers or processes might save the same file, so every write gets its own temporary file.
+            temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            // Temporary files are only accessible by their owner, keep the permissions of the file being replaced.
+            if (Files.exists(file)) {
+                try {
+                    Files.setPosixFilePermissions(temporaryFile, Files.getPosixFilePermissions(file));
+                } catch (UnsupportedOperationException ignored) {
+                }
+            }
+
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                offsetConfig538.getGenerator().generate(pendingSave.entries, channel);
+                if (sync) channel.force(true);
+            }
+
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            pendingSave.future.complete(null);
+        } catch (Exception e) {
+            try {
+                if (temporaryFile != null) Files.deleteIfExists(temporaryFile);
+            } catch (IOException deleteException) {
+                e.addSuppressed(deleteException);
+            }
+
+            pendingSave.future.completeExceptionally(e);
+        }
+    }
+
+    private static final class PendingSave {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        // Guarded by the saver, replaced when the file is saved again before it's written.
+        private Map<String, ConfigEntryWithComment> entries;
+
+        private PendingSave(Map<String, ConfigEntryWithComment> entries) {
+            this.entries = entries;
+        }
+    }
+}
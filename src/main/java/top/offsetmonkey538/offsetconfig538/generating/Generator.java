@@ -1,20 +1,52 @@
 package top.offsetmonkey538.offsetconfig538.generating;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import top.offsetmonkey538.offsetconfig538.ConfigEntryWithComment;
+import top.offsetmonkey538.offsetconfig538.ConfigNode;
 import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
 import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+import top.offsetmonkey538.offsetconfig538.parsing.IncrementalConfig;
+import top.offsetmonkey538.offsetconfig538.serialization.ConfigObjectWriter;
 import top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigSerializer;
+import top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigStreamSerializer;
 
 /**
  * Used for generating OffsetConfig.
+ * <br>
+ * Safe to use from multiple threads at once, as long as the registered serializers are.
+ * The way objects are written is compiled into a {@link WritePlan} the first time a serializer is used and reused after that.
+ * Objects with an {@link OffsetConfigStreamSerializer} are written straight to the output instead.
  */
 public class Generator {
 
+    private static final String INDENTATION = " ".repeat(OffsetConfig538.INDENTATION_SIZE);
+    private static final String KEY_VALUE_DELIMITER = " " + OffsetConfig538.KEY_VALUE_DELIMITER + " ";
+    // Encoding buffers for writing to channels, reused by every generator on the same thread.
+    private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(64 * 1024));
+
     private final OffsetConfig538 offsetConfig538;
     private final String lineSeparator = System.lineSeparator();
+    // Compiled once per serializer, the serializers don't change for the lifetime of a generator.
+    private final Map<OffsetConfigSerializer<?>, WritePlan> writePlans = new ConcurrentHashMap<>();
 
     /**
      * Constructs a new Generator.
@@ -56,178 +88,707 @@ public class Generator {
      * @see #generateFromObjects(Map)
      */
     public String generateFromConfigEntries(Map<String, ConfigEntryWithComment> entries) throws OffsetConfigException {
+        return generate(ConfigNode.fromFlatMap(entries));
+    }
+
+    /**
+     * Generates OffsetConfig from the provided tree of {@link ConfigNode ConfigNodes}. Also includes comments.
+     *
+     * @param root The root node of the tree. Only its children are generated.
+     * @return OffsetConfig from the provided tree.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     * @see #generateFromConfigEntries(Map)
+     */
+    public String generate(ConfigNode root) throws OffsetConfigException {
         StringBuilder builder = new StringBuilder();
 
-        int lastIndentationLevel = 0;
+        try {
+            generate(root, builder);
+        } catch (IOException e) {
+            // Can't happen, StringBuilder doesn't throw.
+            throw new UncheckedIOException(e);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Generates OffsetConfig from the provided map of String to {@link ConfigEntryWithComment} into the provided output.
+     * <br>
+     * Everything is written straight into the output, without building the OffsetConfig in memory first.
+     *
+     * @param entries The map containing the entries.
+     * @param out The output to write the OffsetConfig to.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     * @throws IOException when writing to the output fails.
+     * @see #generateFromConfigEntries(Map)
+     */
+    public void generate(Map<String, ConfigEntryWithComment> entries, Appendable out) throws OffsetConfigException, IOException {
+        generate(ConfigNode.fromFlatMap(entries), out);
+    }
+
+    /**
+     * Generates OffsetConfig from the provided map of String to {@link ConfigEntryWithComment} into the provided writer and flushes it.
+     * The writer isn't closed.
+     *
+     * @param entries The map containing the entries.
+     * @param writer The writer to write the OffsetConfig to.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     * @throws IOException when writing to the writer fails.
+     * @see #generate(Map, Appendable)
+     */
+    public void generate(Map<String, ConfigEntryWithComment> entries, Writer writer) throws OffsetConfigException, IOException {
+        generate(entries, (Appendable) writer);
+        writer.flush();
+    }
+
+    /**
+     * Generates OffsetConfig from the provided map of String to {@link ConfigEntryWithComment} into the file at the provided path, encoded as UTF-8.
+     * The file is created if it doesn't exist and replaced if it does.
+     *
+     * @param entries The map containing the entries.
+     * @param path The path of the file to write the OffsetConfig to.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     * @throws IOException when writing to the file fails.
+     * @see #generate(Map, WritableByteChannel)
+     */
+    public void generate(Map<String, ConfigEntryWithComment> entries, Path path) throws OffsetConfigException, IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            generate(entries, channel);
+        }
+    }
+
+    /**
+     * Generates OffsetConfig from the provided map of String to {@link ConfigEntryWithComment} into the provided channel, encoded as UTF-8.
+     * <br>
+     * The OffsetConfig is encoded straight into a direct buffer reused by the current thread, without creating a String or a byte array.
+     * The channel isn't closed.
+     *
+     * @param entries The map containing the entries.
+     * @param channel The channel to write the OffsetConfig to, for example a {@link FileChannel}.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     * @throws IOException when writing to the channel fails.
+     * @see #generate(Map, WritableByteChannel, ByteBuffer)
+     */
+    public void generate(Map<String, ConfigEntryWithComment> entries, WritableByteChannel channel) throws OffsetConfigException, IOException {
+        generate(entries, channel, BUFFERS.get());
+    }
+
+    /**
+     * Generates OffsetConfig from the provided map of String to {@link ConfigEntryWithComment} into the provided channel, encoded as UTF-8.
+     * The channel isn't closed.
+     *
+     * @param entries The map containing the entries.
+     * @param channel The channel to write the OffsetConfig to, for example a {@link FileChannel}.
+     * @param buffer The buffer to encode the OffsetConfig into before writing it to the channel.
+     *               Should be a direct buffer for the best performance. Needs to have space for at least 4 bytes. Its content is replaced.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     * @throws IOException when writing to the channel fails.
+     */
+    public void generate(Map<String, ConfigEntryWithComment> entries, WritableByteChannel channel, ByteBuffer buffer) throws OffsetConfigException, IOException {
+        final ByteChannelAppendable out = new ByteChannelAppendable(channel, buffer);
+        generate(entries, out);
+        out.finish();
+    }
+
+    /**
+     * Generates OffsetConfig from the provided tree of {@link ConfigNode ConfigNodes} into the provided output.
+     *
+     * @param root The root node of the tree. Only its children are generated.
+     * @param out The output to write the OffsetConfig to.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     * @throws IOException when writing to the output fails.
+     * @see #generate(ConfigNode)
+     */
+    public void generate(ConfigNode root, Appendable out) throws OffsetConfigException, IOException {
+        generateChildren(out, root, 0);
+    }
+
+    /**
+     * Updates the content of the provided config to contain the provided entries, changing only the lines of entries that are different.
+     * <br>
+     * Everything else, including comments, empty lines and formatting, is kept exactly as it is in the content.
+     * Changed values and comments replace the lines of their entry, removed entries are removed along with their comment
+     * and new entries are added to the end of the block they are in or to the end of the content.
+     * Entries already in the content keep their position even if they are in a different order in the provided map.
+     * <br>
+     * Values are compared using {@link Object#equals(Object)} and arrays by their content,
+     * so objects that don't implement equals are always written again.
+     * When an entry changes from a block to a value or the other way around, the whole content is generated again using {@link #generateFromConfigEntries(Map)}.
+     *
+     * @param source The parsed content to update, for example the content the entries were parsed from.
+     * @param entries The map containing the new entries.
+     * @return the updated content. The content of the provided config itself if nothing changed.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     * @see top.offsetmonkey538.offsetconfig538.parsing.Parser#parseIncremental(String)
+     */
+    public String patch(IncrementalConfig source, Map<String, ConfigEntryWithComment> entries) throws OffsetConfigException {
+        final String content = source.getContent();
+        final int size = source.size();
+
+        // The last entry with each key, earlier ones with the same key are replaced by it when parsing.
+        final Map<String, Integer> indices = new HashMap<>(size);
+        final int[] parents = new int[size];
+        final Deque<Integer> parentStack = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            indices.put(source.getKey(i), i);
+
+            while (!parentStack.isEmpty() && source.getDepth(parentStack.peek()) >= source.getDepth(i)) parentStack.pop();
+            parents[i] = parentStack.isEmpty() ? -1 : parentStack.peek();
+            if (source.isBlock(i)) parentStack.push(i);
+        }
+
+        // New entries, by the entry of the block they are added to or -1 for the end of the content.
+        final Map<Integer, ConfigNode> additions = new LinkedHashMap<>();
+        // If the entry or anything inside it is in the new entries.
+        final boolean[] kept = new boolean[size];
 
-        // Loop through all entries
         for (Map.Entry<String, ConfigEntryWithComment> entry : entries.entrySet()) {
-            ConfigEntryWithComment configEntry = entry.getValue();
-            String comment = configEntry.comment();
-            Object value = configEntry.value();
+            final String key = entry.getKey();
+            final Integer index = indices.get(key);
+            if (index != null) {
+                kept[index] = true;
+                continue;
+            }
 
-            // Split the key using the KEY_SEPARATOR.
-            String[] keys = entry.getKey().split("\\" + OffsetConfig538.KEY_SEPARATOR);
-            int indentationLevel = keys.length - 1;
+            // Find the closest parent that is already in the content.
+            int parent = -1;
+            for (int separator = key.lastIndexOf(OffsetConfig538.KEY_SEPARATOR); separator != -1; separator = key.lastIndexOf(OffsetConfig538.KEY_SEPARATOR, separator - 1)) {
+                final Integer parentIndex = indices.get(key.substring(0, separator));
+                if (parentIndex == null) continue;
 
-            // Append comment if it exists
-            if (!"".equals(comment)) {
-                builder.append(getIndentation(indentationLevel)).append(OffsetConfig538.COMMENT_PREFIX).append(" ").append(comment).append(lineSeparator);
+                parent = parentIndex;
+                break;
             }
+            if (parent != -1 && !source.isBlock(parent)) return generateFromConfigEntries(entries);
+            if (parent != -1) kept[parent] = true;
 
-            // Deal with parents
-            if (value == null) {
-                lastIndentationLevel = indentationLevel++;
+            final String relativeKey = parent == -1 ? key : key.substring(source.getKey(parent).length() + OffsetConfig538.KEY_SEPARATOR.length());
+            additions.computeIfAbsent(parent, ignored -> new ConfigNode()).getOrCreate(relativeKey)
+                    .setComment(entry.getValue().comment())
+                    .setValue(entry.getValue().value());
+        }
+
+        // Blocks are kept when anything inside them is, children always come after their parents.
+        for (int i = size - 1; i >= 0; i--) {
+            if (kept[i] && parents[i] != -1) kept[parents[i]] = true;
+        }
+
+        final List<Patch> patches = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final int start = source.getStart(i);
+            final int commentStart = findCommentLine(content, start);
+
+            // Remove the entry along with its comment and everything inside it.
+            if (!kept[i]) {
+                patches.add(new Patch(commentStart == -1 ? start : commentStart, nextLineStart(content, source.getEnd(i)), 0, false, ""));
+                final int removedDepth = source.getDepth(i);
+                while (i + 1 < size && source.getDepth(i + 1) > removedDepth) i++;
+                continue;
             }
 
-            if (lastIndentationLevel < indentationLevel) {
-                for (int i = lastIndentationLevel; i < indentationLevel; i++) {
-                    builder.append(getIndentation(i)).append(keys[i]).append(OffsetConfig538.BLOCK_START_INDICATOR).append(lineSeparator);
+            // Only the last entry with a key ends up in the parsed entries.
+            final String key = source.getKey(i);
+            if (indices.get(key) != i) continue;
+
+            // Blocks can be kept only because something inside them is.
+            final ConfigEntryWithComment entry = entries.get(key);
+            if (entry == null) continue;
+
+            if (source.isBlock(i) != (entry.value() == null)) return generateFromConfigEntries(entries);
+
+            final int depth = source.getDepth(i);
+            final String comment = entry.comment();
+            if (!Objects.equals(comment, source.getComment(i))) {
+                final StringBuilder builder = new StringBuilder();
+                if (!"".equals(comment)) {
+                    builder.append(INDENTATION.repeat(depth)).append(OffsetConfig538.COMMENT_PREFIX).append(" ").append(comment).append(lineSeparator);
                 }
+
+                // Replace the comment of the entry. Entries without their own comment line get the one before them, which stays.
+                if (commentStart != -1) patches.add(new Patch(commentStart, nextLineStart(content, commentStart), depth, false, builder.toString()));
+                else if (!builder.isEmpty()) patches.add(new Patch(start, start, depth, false, builder.toString()));
             }
 
-            // If the value is null it means it's just the start of a block.
-            if (value != null) {
-                builder
-                        .append(getIndentation(indentationLevel))
-                        .append(keys[keys.length - 1])
-                        .append(" ")
-                        .append(OffsetConfig538.KEY_VALUE_DELIMITER)
-                        .append(" ")
-                        .append(generateValue(value, indentationLevel))
-                        .append(lineSeparator);
+            if (!source.isBlock(i) && !Objects.deepEquals(source.getValue(i), entry.value())) {
+                final StringBuilder builder = new StringBuilder();
+                final String localKey = parents[i] == -1 ? key : key.substring(source.getKey(parents[i]).length() + OffsetConfig538.KEY_SEPARATOR.length());
+
+                builder.append(INDENTATION.repeat(depth)).append(localKey).append(" ").append(OffsetConfig538.KEY_VALUE_DELIMITER).append(" ");
+                appendValue(builder, entry.value(), depth);
+
+                patches.add(new Patch(start, source.getEnd(i), depth, false, builder.toString()));
+            }
+        }
+
+        for (Map.Entry<Integer, ConfigNode> addition : additions.entrySet()) {
+            final int parent = addition.getKey();
+            final int position = parent == -1 ? content.length() : nextLineStart(content, source.getEnd(parent));
+            final int depth = parent == -1 ? 0 : source.getDepth(parent) + 1;
+
+            final StringBuilder builder = new StringBuilder();
+            // The last line of the content might not have a line ending.
+            if (position == content.length() && !content.isEmpty() && content.charAt(content.length() - 1) != '\n') builder.append(lineSeparator);
+            try {
+                generateChildren(builder, addition.getValue(), depth);
+            } catch (IOException e) {
+                // Can't happen, StringBuilder doesn't throw.
+                throw new UncheckedIOException(e);
             }
 
-            lastIndentationLevel = indentationLevel;
+            patches.add(new Patch(position, position, depth, true, builder.toString()));
         }
 
-        return builder.toString();
+        if (patches.isEmpty()) return content;
+
+        // New entries go to the end of their block, before anything starting at the same position.
+        // Entries added to a nested block go before the ones added to its parents.
+        patches.sort(Comparator.comparingInt(Patch::start)
+                .thenComparing(Patch::addition, Comparator.reverseOrder())
+                .thenComparing(Patch::depth, Comparator.reverseOrder())
+                .thenComparingInt(Patch::end));
+
+        final StringBuilder result = new StringBuilder(content.length());
+        int position = 0;
+        for (Patch patch : patches) {
+            result.append(content, position, patch.start()).append(patch.text());
+            position = patch.end();
+        }
+        result.append(content, position, content.length());
+
+        return result.toString();
+    }
+
+    /**
+     * Updates the content of the provided config to contain the provided entries and writes it to the file at the provided path, encoded as UTF-8.
+     * The file isn't written at all when nothing changed.
+     *
+     * @param source The parsed content to update, for example the content the entries were parsed from.
+     * @param entries The map containing the new entries.
+     * @param path The path of the file to write the updated content to.
+     * @return the updated content.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     * @throws IOException when writing to the file fails.
+     * @see #patch(IncrementalConfig, Map)
+     */
+    public String patch(IncrementalConfig source, Map<String, ConfigEntryWithComment> entries, Path path) throws OffsetConfigException, IOException {
+        final String content = patch(source, entries);
+        if (content == source.getContent() && Files.exists(path)) return content;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteChannelAppendable out = new ByteChannelAppendable(channel, BUFFERS.get());
+            out.append(content);
+            out.finish();
+        }
+
+        return content;
+    }
+
+    /**
+     * A replacement of a part of the content.
+     *
+     * @param start The start of the replaced part.
+     * @param end The end of the replaced part, the same as the start when only inserting.
+     * @param depth The number of blocks the replaced part is in.
+     * @param addition If this adds new entries to the end of a block.
+     * @param text The text to replace the part with.
+     */
+    private record Patch(int start, int end, int depth, boolean addition, String text) {
+
+    }
+
+    /**
+     * Finds the comment line of the entry starting at the provided position, skipping empty lines.
+     *
+     * @param content The content.
+     * @param start The start of the first line of the entry.
+     * @return the start of the comment line or -1 if the line before the entry isn't a comment.
+     */
+    private static int findCommentLine(String content, int start) {
+        int lineStart = start;
+
+        while (lineStart > 0) {
+            final int lineEnd = lineStart - 1;
+            lineStart = content.lastIndexOf('\n', lineEnd - 1) + 1;
+
+            final String line = content.substring(lineStart, lineEnd).trim();
+            if (line.isEmpty()) continue;
+            return line.startsWith(OffsetConfig538.COMMENT_PREFIX) ? lineStart : -1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param content The content.
+     * @param position A position in the content.
+     * @return the start of the line after the provided position or the length of the content if it's on the last line.
+     */
+    private static int nextLineStart(String content, int position) {
+        final int lineEnd = content.indexOf('\n', position);
+        return lineEnd == -1 ? content.length() : lineEnd + 1;
+    }
+
+    /**
+     * Appends the provided value to the provided builder.
+     */
+    private void appendValue(StringBuilder builder, Object value, int indentationLevel) throws OffsetConfigException {
+        try {
+            generateValue(builder, value, indentationLevel);
+        } catch (IOException e) {
+            // Can't happen, StringBuilder doesn't throw.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Generates OffsetConfig from the child nodes of the provided node.
+     *
+     * @param out The output to write the OffsetConfig to.
+     * @param node The node whose children to generate OffsetConfig from.
+     * @param indentationLevel The indentation level of the children.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     * @throws IOException when writing to the output fails.
+     */
+    private void generateChildren(Appendable out, ConfigNode node, int indentationLevel) throws OffsetConfigException, IOException {
+        for (ConfigNode child : node.getChildren().values()) {
+            String comment = child.getComment();
+            Object value = child.getValue();
+
+            // Append comment if it exists
+            if (!"".equals(comment)) {
+                appendIndentation(out, indentationLevel);
+                out.append(OffsetConfig538.COMMENT_PREFIX).append(" ").append(comment).append(lineSeparator);
+            }
+
+            if (value != null) {
+                appendIndentation(out, indentationLevel);
+                out.append(child.getKey()).append(" ").append(OffsetConfig538.KEY_VALUE_DELIMITER).append(" ");
+                generateValue(out, value, indentationLevel);
+                out.append(lineSeparator);
+            }
+
+            // If the value is null it means it's the start of a block.
+            if (value == null || child.hasChildren()) {
+                appendIndentation(out, indentationLevel);
+                out.append(child.getKey()).append(OffsetConfig538.BLOCK_START_INDICATOR).append(lineSeparator);
+                generateChildren(out, child, indentationLevel + 1);
+            }
+        }
     }
 
     /**
      * Generates OffsetConfig from the provided value.
      *
+     * @param out The output to write the OffsetConfig to.
      * @param value The value to generate OffsetConfig from.
      * @param indentationLevel The current indentation level.
-     * @return OffsetConfig from the provided value.
      * @throws OffsetConfigException when something goes wrong while generating.
+     * @throws IOException when writing to the output fails.
      */
-    private String generateValue(Object value, int indentationLevel) throws OffsetConfigException {
+    private void generateValue(Appendable out, Object value, int indentationLevel) throws OffsetConfigException, IOException {
         // Strings are surrounded by double quotes (").
-        if (value instanceof String) return "\"" + value + "\"";
-        if (value instanceof Integer) return value.toString();
-        if (value instanceof Float) return value.toString();
-        if (value instanceof Boolean) return value.toString();
+        if (value instanceof String string) {
+            out.append('"').append(string).append('"');
+            return;
+        }
+        // Longs and doubles have a suffix so they can be told apart from integers and floats.
+        if (value instanceof Long) {
+            out.append(value.toString()).append('L');
+            return;
+        }
+        if (value instanceof Double) {
+            out.append(value.toString()).append('D');
+            return;
+        }
+        if (value instanceof Integer || value instanceof Float || value instanceof Boolean) {
+            out.append(value.toString());
+            return;
+        }
 
-        // Get the type for the value
-        String type = OffsetConfig538.TYPE_PREFIX + getType(value) + " ";
+        // Append the type
+        out.append(OffsetConfig538.TYPE_PREFIX).append(getType(value)).append(" ");
 
-        // Return the type and value.
-        if (value.getClass().isArray()) return type + generateArray(value, indentationLevel);
-        return type + generateObject(value, indentationLevel);
+        // Append the value.
+        if (value.getClass().isArray()) generateArray(out, value, indentationLevel);
+        else generateObject(out, value, indentationLevel);
     }
 
     /**
      * Generates OffsetConfig from the provided array.
+     * <br>
+     * Arrays of basic values and Strings are written without boxing their elements.
      *
+     * @param out The output to write the OffsetConfig to.
      * @param value The array to generate OffsetConfig from.
      * @param indentationLevel The current indentation level.
-     * @return OffsetConfig from the provided array.
      * @throws OffsetConfigException when something goes wrong while generating.
+     * @throws IOException when writing to the output fails.
      */
-    private String generateArray(Object value, int indentationLevel) throws OffsetConfigException {
-        StringBuilder builder = new StringBuilder();
-
+    private void generateArray(Appendable out, Object value, int indentationLevel) throws OffsetConfigException, IOException {
         // Append array open character.
-        builder.append(OffsetConfig538.ARRAY_OPEN).append(lineSeparator);
+        out.append(OffsetConfig538.ARRAY_OPEN).append(lineSeparator);
 
-        for (int i = 0; i < Array.getLength(value); i++) {
-            // Append indentation inside of array
-            builder.append(getIndentation(indentationLevel + 1));
+        // Indentation inside of array
+        final String indentation = INDENTATION.repeat(indentationLevel + 1);
 
-            // Append value of array
-            builder.append(generateArrayValue(Array.get(value, i), indentationLevel + 1)).append("\n");
+        // The type of the array is known, so longs and doubles don't need a suffix.
+        if (value instanceof int[] array) {
+            for (int element : array) {
+                out.append(indentation);
+                appendInt(out, element);
+                out.append("\n");
+            }
+        } else if (value instanceof long[] array) {
+            for (long element : array) {
+                out.append(indentation);
+                appendLong(out, element);
+                out.append("\n");
+            }
+        } else if (value instanceof float[] array) {
+            for (float element : array) {
+                out.append(indentation);
+                appendFloat(out, element);
+                out.append("\n");
+            }
+        } else if (value instanceof double[] array) {
+            for (double element : array) {
+                out.append(indentation);
+                appendDouble(out, element);
+                out.append("\n");
+            }
+        } else if (value instanceof boolean[] array) {
+            for (boolean element : array) {
+                out.append(indentation).append(element ? "true" : "false").append("\n");
+            }
+        } else if (value instanceof String[] array) {
+            for (String element : array) {
+                out.append(indentation).append('"').append(element).append('"').append("\n");
+            }
+        } else if (value instanceof Object[] array) {
+            for (Object element : array) {
+                out.append(indentation);
+                generateArrayValue(out, element, indentationLevel + 1);
+                out.append("\n");
+            }
+        } else {
+            for (int i = 0; i < Array.getLength(value); i++) {
+                out.append(indentation);
+                generateArrayValue(out, Array.get(value, i), indentationLevel + 1);
+                out.append("\n");
+            }
         }
 
         // Append indentation and array close character.
-        builder.append(getIndentation(indentationLevel)).append(OffsetConfig538.ARRAY_CLOSE);
-
-
-        return builder.toString();
+        appendIndentation(out, indentationLevel);
+        out.append(OffsetConfig538.ARRAY_CLOSE);
     }
 
     /**
      * Generates OffsetConfig from the provided array entry.
      *
+     * @param out The output to write the OffsetConfig to.
      * @param value The array entry to generate OffsetConfig from.
      * @param indentationLevel The current indentation level.
-     * @return OffsetConfig from the provided array entry.
      * @throws OffsetConfigException when something goes wrong while generating.
+     * @throws IOException when writing to the output fails.
      */
-    private String generateArrayValue(Object value, int indentationLevel) throws OffsetConfigException {
-        if (value instanceof String) return "\"" + value + "\"";
-        if (value instanceof Integer) return value.toString();
-        if (value instanceof Float) return value.toString();
-        if (value instanceof Boolean) return value.toString();
+    private void generateArrayValue(Appendable out, Object value, int indentationLevel) throws OffsetConfigException, IOException {
+        if (value instanceof String string) {
+            out.append('"').append(string).append('"');
+            return;
+        }
+        // The type of the array is known, so longs and doubles don't need a suffix.
+        if (value instanceof Integer || value instanceof Long || value instanceof Float || value instanceof Double || value instanceof Boolean) {
+            out.append(value.toString());
+            return;
+        }
 
-        return generateObject(value, indentationLevel);
+        generateObject(out, value, indentationLevel);
     }
 
     /**
      * Generates OffsetConfig from the provided object.
      *
+     * @param out The output to write the OffsetConfig to.
      * @param value The object to generate OffsetConfig from.
      * @param indentationLevel The current indentation level.
-     * @return OffsetConfig from the provided array entry.
      * @throws OffsetConfigException when something goes wrong while generating.
+     * @throws IOException when writing to the output fails.
      */
-    private String generateObject(Object value, int indentationLevel) throws OffsetConfigException {
-        StringBuilder builder = new StringBuilder();
-
-        // Append object open character.
-        builder.append(OffsetConfig538.OBJECT_OPEN).append(lineSeparator);
-
+    private void generateObject(Appendable out, Object value, int indentationLevel) throws OffsetConfigException, IOException {
         // Get the serializer
         OffsetConfigSerializer<?> serializer = offsetConfig538.getSerializerByTypeClass(value.getClass());
         if (serializer == null) throw new OffsetConfigException("No serializer found for type '%s'!", value.getClass());
 
-        Map<String, Object> entries = new LinkedHashMap<>();
+        // Stream serializers write the values straight to the output.
+        if (serializer instanceof OffsetConfigStreamSerializer<?> streamSerializer) {
+            out.append(OffsetConfig538.OBJECT_OPEN).append(lineSeparator);
+            try {
+                streamSerializer.writeFromObject(new StreamObjectWriter(out, indentationLevel + 1), value);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            appendIndentation(out, indentationLevel);
+            out.append(OffsetConfig538.OBJECT_CLOSE);
+            return;
+        }
+
+        // Serialize into the plan of the serializer if there is one.
+        WritePlan plan = writePlans.get(serializer);
+        Map<String, Object> entries = plan == null ? new LinkedHashMap<>() : plan.newEntries();
         serializer.serializeFromObject(entries, value);
 
-        for (Map.Entry<String, Object> entry : entries.entrySet()) {
-            // Append indentation inside of object
-            builder.append(getIndentation(indentationLevel + 1));
+        if (plan == null) writePlans.putIfAbsent(serializer, WritePlan.compile(serializer, entries, this));
+
+        // Append object open character.
+        out.append(OffsetConfig538.OBJECT_OPEN).append(lineSeparator);
+
+        if (entries instanceof WritePlan.Entries planEntries && planEntries.matchesPlan()) {
+            for (int i = 0; i < plan.keys.length; i++) {
+                // Append indentation inside of object
+                appendIndentation(out, indentationLevel + 1);
 
+                // Append the key and the value
+                out.append(plan.prefixes[i]);
+                generatePlannedValue(out, plan, i, planEntries.getValue(i), indentationLevel + 1);
+                out.append(lineSeparator);
+            }
+        } else {
+            for (Map.Entry<String, Object> entry : entries.entrySet()) {
+                // Append indentation inside of object
+                appendIndentation(out, indentationLevel + 1);
 
-            // Append the key
-            builder.append(entry.getKey()).append(" ").append(OffsetConfig538.KEY_VALUE_DELIMITER).append(" ");
+                // Append the key
+                out.append(entry.getKey()).append(" ").append(OffsetConfig538.KEY_VALUE_DELIMITER).append(" ");
 
-            // Append the object
-            builder.append(generateValue(entry.getValue(), indentationLevel + 1)).append(lineSeparator);
+                // Append the object
+                generateValue(out, entry.getValue(), indentationLevel + 1);
+                out.append(lineSeparator);
+            }
         }
 
-        // Append indentation and array close character.
-        builder.append(getIndentation(indentationLevel)).append(OffsetConfig538.OBJECT_CLOSE);
+        // Append indentation and object close character.
+        appendIndentation(out, indentationLevel);
+        out.append(OffsetConfig538.OBJECT_CLOSE);
+    }
 
+    /**
+     * Generates OffsetConfig from a value of an object, using the way it's written in the plan when it has the same class as when the plan was compiled.
+     *
+     * @param out The output to write the OffsetConfig to.
+     * @param plan The plan of the object.
+     * @param index The position of the value in the plan.
+     * @param value The value to generate OffsetConfig from.
+     * @param indentationLevel The current indentation level.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     * @throws IOException when writing to the output fails.
+     */
+    private void generatePlannedValue(Appendable out, WritePlan plan, int index, Object value, int indentationLevel) throws OffsetConfigException, IOException {
+        if (value == null || value.getClass() != plan.valueClasses[index]) {
+            generateValue(out, value, indentationLevel);
+            return;
+        }
 
-        return builder.toString();
+        switch (plan.kinds[index]) {
+            case STRING -> out.append('"').append((String) value).append('"');
+            case LONG -> out.append(value.toString()).append('L');
+            case DOUBLE -> out.append(value.toString()).append('D');
+            case INT, FLOAT, BOOLEAN -> out.append(value.toString());
+            case ARRAY -> {
+                out.append(plan.types[index]);
+                generateArray(out, value, indentationLevel);
+            }
+            case OBJECT -> {
+                out.append(plan.types[index]);
+                generateObject(out, value, indentationLevel);
+            }
+            case OTHER -> generateValue(out, value, indentationLevel);
+        }
     }
 
     /**
-     * Get the indentation for the provided indentation level.
+     * Appends the provided number without creating a String when the output supports it.
      *
+     * @param out The output to append the number to.
+     * @param value The number to append.
+     * @throws IOException when writing to the output fails.
+     */
+    private static void appendInt(Appendable out, int value) throws IOException {
+        if (out instanceof StringBuilder builder) builder.append(value);
+        else if (out instanceof ByteChannelAppendable channel) channel.appendLong(value);
+        else out.append(Integer.toString(value));
+    }
+
+    /**
+     * Appends the provided number without creating a String when the output supports it.
+     *
+     * @param out The output to append the number to.
+     * @param value The number to append.
+     * @throws IOException when writing to the output fails.
+     */
+    private static void appendLong(Appendable out, long value) throws IOException {
+        if (out instanceof StringBuilder builder) builder.append(value);
+        else if (out instanceof ByteChannelAppendable channel) channel.appendLong(value);
+        else out.append(Long.toString(value));
+    }
+
+    /**
+     * Appends the provided number without creating a String when the output supports it.
+     *
+     * @param out The output to append the number to.
+     * @param value The number to append.
+     * @throws IOException when writing to the output fails.
+     */
+    private static void appendFloat(Appendable out, float value) throws IOException {
+        if (out instanceof StringBuilder builder) builder.append(value);
+        else out.append(Float.toString(value));
+    }
+
+    /**
+     * Appends the provided number without creating a String when the output supports it.
+     *
+     * @param out The output to append the number to.
+     * @param value The number to append.
+     * @throws IOException when writing to the output fails.
+     */
+    private static void appendDouble(Appendable out, double value) throws IOException {
+        if (out instanceof StringBuilder builder) builder.append(value);
+        else out.append(Double.toString(value));
+    }
+
+    /**
+     * Appends the indentation for the provided indentation level.
+     *
+     * @param out The output to append the indentation to.
      * @param indentationLevel The indentation level.
-     * @return indentation for the provided indentation level.
+     * @throws IOException when writing to the output fails.
      */
-    private String getIndentation(int indentationLevel) {
-        return " ".repeat(indentationLevel * OffsetConfig538.INDENTATION_SIZE);
+    private static void appendIndentation(Appendable out, int indentationLevel) throws IOException {
+        for (int i = 0; i < indentationLevel; i++) {
+            out.append(INDENTATION);
+        }
+    }
+
+    /**
+     * Get the type of the provided array or object value along with the type prefix, as it's written before the value.
+     *
+     * @param value the value whose type to get.
+     * @return the type of the value with the type prefix and a space or null if there is no serializer for the type.
+     */
+    String getTypePrefix(Object value) {
+        try {
+            return OffsetConfig538.TYPE_PREFIX + getType(value) + " ";
+        } catch (OffsetConfigException e) {
+            return null;
+        }
     }
 
     /**
      * Get the type of the provided value.
      *
      * @param value the value whose type to get.
-     * @return The name of <code>value</code>s class. Exceptions are "string" for String, "int" for Integer, "float" for Float and "boolean" for Boolean.
+     * @return The name of <code>value</code>s class. Exceptions are "string" for String, "int" for Integer, "long" for Long, "float" for Float, "double" for Double and "boolean" for Boolean.
      */
     private String getType(Object value) throws OffsetConfigException {
         Class<?> valueType = value.getClass();
@@ -235,7 +796,9 @@ public class Generator {
 
         if (valueType == String.class) return "string";
         if (valueType == Integer.class || valueType == int.class) return "int";
+        if (valueType == Long.class || valueType == long.class) return "long";
         if (valueType == Float.class || valueType == float.class) return "float";
+        if (valueType == Double.class || valueType == double.class) return "double";
         if (valueType == Boolean.class || valueType == boolean.class) return "boolean";
 
         OffsetConfigSerializer<?> serializer = offsetConfig538.getSerializerByTypeClass(valueType);
@@ -243,4 +806,103 @@ public class Generator {
 
         return serializer.getType();
     }
+
+    /**
+     * Writes the values of an object straight to the output, for an {@link OffsetConfigStreamSerializer}.
+     * <br>
+     * {@link IOException IOExceptions} are thrown as {@link UncheckedIOException UncheckedIOExceptions}, as the writer methods can only throw {@link OffsetConfigException}.
+     */
+    private final class StreamObjectWriter implements ConfigObjectWriter {
+        private final Appendable out;
+        private final int indentationLevel;
+
+        private StreamObjectWriter(Appendable out, int indentationLevel) {
+            this.out = out;
+            this.indentationLevel = indentationLevel;
+        }
+
+        @Override
+        public void writeString(String key, String value) throws OffsetConfigException {
+            if (value == null) throw new OffsetConfigException("Value of key '%s' can't be null!", key);
+
+            try {
+                appendKey(key);
+                out.append('"').append(value).append('"').append(lineSeparator);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void writeBoolean(String key, boolean value) {
+            try {
+                appendKey(key);
+                out.append(value ? "true" : "false").append(lineSeparator);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void writeInt(String key, int value) {
+            try {
+                appendKey(key);
+                appendInt(out, value);
+                out.append(lineSeparator);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void writeLong(String key, long value) {
+            try {
+                appendKey(key);
+                appendLong(out, value);
+                out.append('L').append(lineSeparator);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void writeFloat(String key, float value) {
+            try {
+                appendKey(key);
+                appendFloat(out, value);
+                out.append(lineSeparator);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void writeDouble(String key, double value) {
+            try {
+                appendKey(key);
+                appendDouble(out, value);
+                out.append('D').append(lineSeparator);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void writeValue(String key, Object value) throws OffsetConfigException {
+            if (value == null) throw new OffsetConfigException("Value of key '%s' can't be null!", key);
+
+            try {
+                appendKey(key);
+                generateValue(out, value, indentationLevel);
+                out.append(lineSeparator);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void appendKey(String key) throws IOException {
+            appendIndentation(out, indentationLevel);
+            out.append(key).append(KEY_VALUE_DELIMITER);
+        }
+    }
 }
@@ -0,0 +1,155 @@
+package top.offsetmonkey538.offsetconfig538.generating;
+
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
+import top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigSerializer;
+
+/**
+ * How the objects of a serializer are written, compiled from the first object it serialized.
+ * <br>
+ * Stores the keys the serializer puts into the entries in order, along with the text before each value and how to write it.
+ * Serializers usually put the same keys in the same order every time, so the entries of later objects can be stored
+ * in an array by their position instead of a map, and their values written without looking at their type again.
+ */
+final class WritePlan {
+    /**
+     * How a value is written.
+     */
+    enum Kind {
+        STRING, INT, LONG, FLOAT, DOUBLE, BOOLEAN, ARRAY, OBJECT, OTHER
+    }
+
+    final OffsetConfigSerializer<?> serializer;
+    final String[] keys;
+    /**
+     * The key and the delimiter, written before each value.
+     */
+    final String[] prefixes;
+    /**
+     * The class of each value when the plan was compiled. The kind and type of a value are only used when its class is the same.
+     */
+    final Class<?>[] valueClasses;
+    final Kind[] kinds;
+    /**
+     * The type written before array and object values.
+     */
+    final String[] types;
+
+    private WritePlan(OffsetConfigSerializer<?> serializer, int size) {
+        this.serializer = serializer;
+        this.keys = new String[size];
+        this.prefixes = new String[size];
+        this.valueClasses = new Class<?>[size];
+        this.kinds = new Kind[size];
+        this.types = new String[size];
+    }
+
+    /**
+     * Compiles a plan from the entries of an object serialized by the provided serializer.
+     *
+     * @param serializer the serializer the entries are from.
+     * @param entries the serialized entries.
+     * @param generator the generator used to get the types of arrays and objects.
+     * @return the compiled plan.
+     */
+    static WritePlan compile(OffsetConfigSerializer<?> serializer, Map<String, Object> entries, Generator generator) {
+        final WritePlan plan = new WritePlan(serializer, entries.size());
+
+        int i = 0;
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            final Object value = entry.getValue();
+
+            plan.keys[i] = entry.getKey();
+            plan.prefixes[i] = entry.getKey() + " " + OffsetConfig538.KEY_VALUE_DELIMITER + " ";
+            plan.valueClasses[i] = value == null ? null : value.getClass();
+            plan.kinds[i] = kindOf(value);
+
+            if (plan.kinds[i] == Kind.ARRAY || plan.kinds[i] == Kind.OBJECT) {
+                plan.types[i] = generator.getTypePrefix(value);
+                // Types without a serializer can't be planned, they fail when writing.
+                if (plan.types[i] == null) plan.kinds[i] = Kind.OTHER;
+            }
+
+            i++;
+        }
+
+        return plan;
+    }
+
+    private static Kind kindOf(Object value) {
+        if (value == null) return Kind.OTHER;
+        if (value instanceof String) return Kind.STRING;
+        if (value instanceof Integer) return Kind.INT;
+        if (value instanceof Long) return Kind.LONG;
+        if (value instanceof Float) return Kind.FLOAT;
+        if (value instanceof Double) return Kind.DOUBLE;
+        if (value instanceof Boolean) return Kind.BOOLEAN;
+        if (value.getClass().isArray()) return Kind.ARRAY;
+        return Kind.OBJECT;
+    }
+
+    /**
+     * @return a new empty map for a serializer to put the entries of an object into.
+     */
+    Entries newEntries() {
+        return new Entries();
+    }
+
+    /**
+     * A map storing the values in an array as long as they are put in the order of the plan.
+     * Turns into a normal map as soon as they aren't or when anything other than putting values is done.
+     */
+    final class Entries extends AbstractMap<String, Object> {
+        private final Object[] values = new Object[keys.length];
+        private int size;
+        private Map<String, Object> map;
+
+        @Override
+        public Object put(String key, Object value) {
+            if (map == null && size < keys.length && (key == keys[size] || keys[size].equals(key))) {
+                values[size++] = value;
+                return null;
+            }
+
+            return toMap().put(key, value);
+        }
+
+        @Override
+        public int size() {
+            return map == null ? size : map.size();
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return toMap().entrySet();
+        }
+
+        /**
+         * @return if all values were put in the order of the plan.
+         */
+        boolean matchesPlan() {
+            return map == null && size == keys.length;
+        }
+
+        /**
+         * @param index the position of the value in the plan.
+         * @return the value at the provided position. Only valid when {@link #matchesPlan()}.
+         */
+        Object getValue(int index) {
+            return values[index];
+        }
+
+        private Map<String, Object> toMap() {
+            if (map != null) return map;
+
+            map = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                map.put(keys[i], values[i]);
+            }
+            return map;
+        }
+    }
+}
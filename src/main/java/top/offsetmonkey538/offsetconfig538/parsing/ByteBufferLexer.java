@@ -0,0 +1,60 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link Lexer} reading UTF-8 content straight from a {@link ByteBuffer}, for example a memory-mapped file.
+ * <br>
+ * All characters with a meaning in OffsetConfig are ASCII and every byte of a multibyte UTF-8 character is
+ * outside the ASCII range, so the lexer can work on bytes directly. Only the text that's actually used gets decoded.
+ */
+final class ByteBufferLexer extends Lexer {
+    private final ByteBuffer buffer;
+    private final int limit;
+    private int position;
+    private byte[] decodeBuffer = new byte[64];
+
+    /**
+     * Constructs a new ByteBufferLexer.
+     *
+     * @param buffer The buffer containing UTF-8 encoded content from its position to its limit. The position of the buffer isn't changed.
+     */
+    ByteBufferLexer(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.position = buffer.position();
+        this.limit = buffer.limit();
+    }
+
+    @Override
+    void seek(int position, int lineNumber) {
+        this.position = position;
+        this.lineNumber = lineNumber - 1;
+    }
+
+    @Override
+    protected boolean readLine() {
+        if (position >= limit) return false;
+
+        lineStart = position;
+        lineEnd = position;
+        while (lineEnd < limit && buffer.get(lineEnd) != '\n') lineEnd++;
+        position = lineEnd + 1;
+
+        return true;
+    }
+
+    @Override
+    char charAt(int index) {
+        return (char) (buffer.get(index) & 0xFF);
+    }
+
+    @Override
+    String text(int start, int end) {
+        final int length = end - start;
+        if (length > decodeBuffer.length) decodeBuffer = new byte[Math.max(length, decodeBuffer.length * 2)];
+
+        buffer.get(start, decodeBuffer, 0, length);
+        return new String(decodeBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,51 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+/**
+ * The events returned by a {@link ConfigEventReader}.
+ */
+public enum ConfigEvent {
+    /**
+     * A comment. The text is available from {@link ConfigEventReader#getComment()}.
+     */
+    COMMENT,
+    /**
+     * The start of a block. The key of the block is available from {@link ConfigEventReader#getKey()}.
+     */
+    BLOCK_START,
+    /**
+     * The end of a block.
+     */
+    BLOCK_END,
+    /**
+     * A key-value pair with a basic value.
+     * The key and value are available from {@link ConfigEventReader#getKey()} and {@link ConfigEventReader#getValue()}.
+     */
+    ENTRY,
+    /**
+     * A basic value inside an array. The value is available from {@link ConfigEventReader#getValue()}.
+     */
+    VALUE,
+    /**
+     * The start of an array.
+     * The key and the type of the array content are available from {@link ConfigEventReader#getKey()} and {@link ConfigEventReader#getType()}.
+     */
+    ARRAY_START,
+    /**
+     * The end of an array.
+     */
+    ARRAY_END,
+    /**
+     * The start of an object.
+     * The key and the type of the object are available from {@link ConfigEventReader#getKey()} and {@link ConfigEventReader#getType()}.
+     * Objects inside arrays don't have a key.
+     */
+    OBJECT_START,
+    /**
+     * The end of an object.
+     */
+    OBJECT_END,
+    /**
+     * The end of the content. Always the last event.
+     */
+    END_DOCUMENT
+}
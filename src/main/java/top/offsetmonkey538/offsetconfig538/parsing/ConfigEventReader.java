@@ -0,0 +1,620 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+/**
+ * Reads OffsetConfig content as a stream of {@link ConfigEvent ConfigEvents}.
+ * <br>
+ * Unlike {@link Parser}, nothing is collected into a map and objects aren't deserialized,
+ * which makes it useful when only a few values are needed or when the content is transformed on the fly.
+ * <br>
+ * Example usage:
+ * <pre> {@code
+ *      ConfigEventReader reader = new ConfigEventReader(content);
+ *      while (reader.hasNext()) {
+ *          if (reader.next() == ConfigEvent.ENTRY && reader.getKey().equals("myValue")) {
+ *              return reader.getValue();
+ *          }
+ *      }
+ * }
+ * </pre>
+ * The data of an event is only available until the next call to {@link #next()}.
+ */
+public class ConfigEventReader {
+    private final Lexer lexer;
+    private final ScalarScanner scanner = new ScalarScanner();
+    // If only the structure should be read, without checking basic values.
+    private final boolean structureOnly;
+
+    // Arrays and objects that are currently open, the innermost one is first.
+    private final Deque<Container> containers = new ArrayDeque<>();
+    // The number of blocks that are currently open.
+    private int blockDepth;
+    // If the current line of the lexer was already turned into an event.
+    private boolean lineConsumed = true;
+
+    private ConfigEvent event;
+    private String key;
+    private String type;
+    private String comment;
+    // The type of the current value or null if the current event doesn't have one.
+    private ScalarScanner.Type valueType;
+
+    /**
+     * Constructs a new ConfigEventReader reading the provided content.
+     *
+     * @param content The config content. Should contain line endings.
+     */
+    public ConfigEventReader(String content) {
+        this(new StringLexer(content));
+    }
+
+    /**
+     * Constructs a new ConfigEventReader reading the content from the provided reader.
+     * <br>
+     * The content is read incrementally, failures while reading are thrown as {@link java.io.UncheckedIOException UncheckedIOExceptions} from {@link #next()}.
+     * The reader isn't closed.
+     *
+     * @param reader The reader to read the config content from.
+     */
+    public ConfigEventReader(Reader reader) {
+        this(new ReaderLexer(reader));
+    }
+
+    /**
+     * Constructs a new ConfigEventReader reading the UTF-8 content in the provided buffer.
+     *
+     * @param buffer The buffer containing the config content from its position to its limit. The position of the buffer isn't changed.
+     */
+    public ConfigEventReader(ByteBuffer buffer) {
+        this(new ByteBufferLexer(buffer));
+    }
+
+    ConfigEventReader(Lexer lexer) {
+        this(lexer, false);
+    }
+
+    /**
+     * Constructs a new ConfigEventReader reading from the provided lexer.
+     *
+     * @param lexer The lexer to read the config content from.
+     * @param structureOnly If only blocks, arrays and objects should be read. Basic values aren't checked and don't have a value.
+     */
+    ConfigEventReader(Lexer lexer, boolean structureOnly) {
+        this.lexer = lexer;
+        this.structureOnly = structureOnly;
+    }
+
+    /**
+     * Checks if there are more events to read.
+     *
+     * @return false if the last read event was {@link ConfigEvent#END_DOCUMENT}.
+     */
+    public boolean hasNext() {
+        return event != ConfigEvent.END_DOCUMENT;
+    }
+
+    /**
+     * Reads the next event.
+     *
+     * @return the next event.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     * @throws NoSuchElementException when {@link ConfigEvent#END_DOCUMENT} was already read.
+     */
+    public ConfigEvent next() throws OffsetConfigException {
+        if (!hasNext()) throw new NoSuchElementException();
+
+        key = null;
+        type = null;
+        comment = null;
+        valueType = null;
+
+        return event = readEvent();
+    }
+
+    /**
+     * @return the last read event.
+     */
+    public ConfigEvent getEvent() {
+        return event;
+    }
+
+    /**
+     * Gets the key of the current {@link ConfigEvent#BLOCK_START}, {@link ConfigEvent#ENTRY}, {@link ConfigEvent#ARRAY_START} or {@link ConfigEvent#OBJECT_START}.
+     * <br>
+     * This is the key relative to the parent, for example <code>bar</code> instead of <code>foo.bar</code>.
+     *
+     * @return the key of the current event or null if it doesn't have one.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the type of the current {@link ConfigEvent#ARRAY_START} or {@link ConfigEvent#OBJECT_START}.
+     *
+     * @return the type of the current event or null if it doesn't have one.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Gets the text of the current {@link ConfigEvent#COMMENT}.
+     *
+     * @return the text of the current comment, without the comment prefix, or null if the current event isn't a comment.
+     */
+    public String getComment() {
+        return comment;
+    }
+
+    /**
+     * Gets the value of the current {@link ConfigEvent#ENTRY} or {@link ConfigEvent#VALUE}.
+     * <br>
+     * The value is decoded when this is called. The typed getters like {@link #getIntValue()} decode it without boxing.
+     *
+     * @return the value of the current event as a String, Boolean, Integer, Long, Float or Double or null if it doesn't have one.
+     */
+    public Object getValue() {
+        if (valueType == null) return null;
+        return scanner.toObject(lexer, valueType);
+    }
+
+    /**
+     * @return the value of the current {@link ConfigEvent#ENTRY} or {@link ConfigEvent#VALUE} as a String.
+     * @throws OffsetConfigException when the current value isn't a String.
+     */
+    public String getStringValue() throws OffsetConfigException {
+        checkValueType(ScalarScanner.Type.STRING);
+        return scanner.stringValue(lexer);
+    }
+
+    /**
+     * @return the value of the current {@link ConfigEvent#ENTRY} or {@link ConfigEvent#VALUE} as a boolean.
+     * @throws OffsetConfigException when the current value isn't a boolean.
+     */
+    public boolean getBooleanValue() throws OffsetConfigException {
+        checkValueType(ScalarScanner.Type.BOOLEAN);
+        return scanner.booleanValue();
+    }
+
+    /**
+     * @return the value of the current {@link ConfigEvent#ENTRY} or {@link ConfigEvent#VALUE} as an int.
+     * @throws OffsetConfigException when the current value isn't an int.
+     */
+    public int getIntValue() throws OffsetConfigException {
+        checkValueType(ScalarScanner.Type.INT);
+        return scanner.intValue();
+    }
+
+    /**
+     * @return the value of the current {@link ConfigEvent#ENTRY} or {@link ConfigEvent#VALUE} as a long.
+     * @throws OffsetConfigException when the current value isn't an int or a long.
+     */
+    public long getLongValue() throws OffsetConfigException {
+        checkValueType(ScalarScanner.Type.LONG);
+        return scanner.longValue();
+    }
+
+    /**
+     * @return the value of the current {@link ConfigEvent#ENTRY} or {@link ConfigEvent#VALUE} as a float.
+     * @throws OffsetConfigException when the current value isn't a number or is a double.
+     */
+    public float getFloatValue() throws OffsetConfigException {
+        checkValueType(ScalarScanner.Type.FLOAT);
+        return scanner.floatValue(lexer);
+    }
+
+    /**
+     * @return the value of the current {@link ConfigEvent#ENTRY} or {@link ConfigEvent#VALUE} as a double.
+     * @throws OffsetConfigException when the current value isn't a number.
+     */
+    public double getDoubleValue() throws OffsetConfigException {
+        checkValueType(ScalarScanner.Type.DOUBLE);
+        return scanner.doubleValue(lexer);
+    }
+
+    /**
+     * Skips the content of the current {@link ConfigEvent#ARRAY_START} or {@link ConfigEvent#OBJECT_START}.
+     * Values inside it aren't decoded.
+     * <br>
+     * After this, the current event is the matching {@link ConfigEvent#ARRAY_END} or {@link ConfigEvent#OBJECT_END}.
+     * Does nothing for other events.
+     *
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     */
+    public void skipChildren() throws OffsetConfigException {
+        if (event != ConfigEvent.ARRAY_START && event != ConfigEvent.OBJECT_START) return;
+
+        final int depth = containers.size();
+        while (containers.size() >= depth) next();
+    }
+
+    /**
+     * Reads the values of the current {@link ConfigEvent#ARRAY_START} into an array of int, without boxing them.
+     * <br>
+     * After this, the current event is the matching {@link ConfigEvent#ARRAY_END}.
+     *
+     * @return the values of the array.
+     * @throws OffsetConfigException when the current event isn't the start of an array, a value isn't an int or something goes wrong when parsing the content.
+     */
+    public int[] readIntArray() throws OffsetConfigException {
+        checkArrayStart();
+
+        int[] values = new int[16];
+        int size = 0;
+        while (nextArrayValue()) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = getIntValue();
+        }
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Reads the values of the current {@link ConfigEvent#ARRAY_START} into an array of long, without boxing them.
+     * <br>
+     * After this, the current event is the matching {@link ConfigEvent#ARRAY_END}.
+     *
+     * @return the values of the array.
+     * @throws OffsetConfigException when the current event isn't the start of an array, a value isn't a long or something goes wrong when parsing the content.
+     */
+    public long[] readLongArray() throws OffsetConfigException {
+        checkArrayStart();
+
+        long[] values = new long[16];
+        int size = 0;
+        while (nextArrayValue()) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = getLongValue();
+        }
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Reads the values of the current {@link ConfigEvent#ARRAY_START} into an array of float, without boxing them.
+     * <br>
+     * After this, the current event is the matching {@link ConfigEvent#ARRAY_END}.
+     *
+     * @return the values of the array.
+     * @throws OffsetConfigException when the current event isn't the start of an array, a value isn't a float or something goes wrong when parsing the content.
+     */
+    public float[] readFloatArray() throws OffsetConfigException {
+        checkArrayStart();
+
+        float[] values = new float[16];
+        int size = 0;
+        while (nextArrayValue()) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = getFloatValue();
+        }
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Reads the values of the current {@link ConfigEvent#ARRAY_START} into an array of double, without boxing them.
+     * <br>
+     * After this, the current event is the matching {@link ConfigEvent#ARRAY_END}.
+     *
+     * @return the values of the array.
+     * @throws OffsetConfigException when the current event isn't the start of an array, a value isn't a double or something goes wrong when parsing the content.
+     */
+    public double[] readDoubleArray() throws OffsetConfigException {
+        checkArrayStart();
+
+        double[] values = new double[16];
+        int size = 0;
+        while (nextArrayValue()) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = getDoubleValue();
+        }
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Reads the values of the current {@link ConfigEvent#ARRAY_START} into an array of boolean, without boxing them.
+     * <br>
+     * After this, the current event is the matching {@link ConfigEvent#ARRAY_END}.
+     *
+     * @return the values of the array.
+     * @throws OffsetConfigException when the current event isn't the start of an array, a value isn't a boolean or something goes wrong when parsing the content.
+     */
+    public boolean[] readBooleanArray() throws OffsetConfigException {
+        checkArrayStart();
+
+        boolean[] values = new boolean[16];
+        int size = 0;
+        while (nextArrayValue()) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = getBooleanValue();
+        }
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Reads the values of the current {@link ConfigEvent#ARRAY_START} into an array of String, without boxing them.
+     * <br>
+     * After this, the current event is the matching {@link ConfigEvent#ARRAY_END}.
+     *
+     * @return the values of the array.
+     * @throws OffsetConfigException when the current event isn't the start of an array, a value isn't a String or something goes wrong when parsing the content.
+     */
+    public String[] readStringArray() throws OffsetConfigException {
+        checkArrayStart();
+
+        String[] values = new String[16];
+        int size = 0;
+        while (nextArrayValue()) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = getStringValue();
+        }
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private void checkArrayStart() throws OffsetConfigException {
+        if (event != ConfigEvent.ARRAY_START) throw new OffsetConfigException("Expected an array at line '%s', but got '%s'!", lexer.lineNumber, event);
+    }
+
+    /**
+     * Moves to the next value of the current array, skipping comments.
+     *
+     * @return false when the end of the array was reached.
+     */
+    private boolean nextArrayValue() throws OffsetConfigException {
+        while (next() == ConfigEvent.COMMENT) {
+            // Skip comments
+        }
+
+        return event != ConfigEvent.ARRAY_END;
+    }
+
+    /**
+     * @return the offset of the line the current event was read from.
+     */
+    int getLineStart() {
+        return lexer.lineStart;
+    }
+
+    /**
+     * @return the offset of the end of the line the current event was read from, excluding the line ending.
+     */
+    int getLineEnd() {
+        return lexer.lineEnd;
+    }
+
+    /**
+     * Moves the reader to the provided line, forgetting about all open blocks, arrays and objects.
+     *
+     * @param lineStart the offset of the line to read next.
+     * @param lineNumber the number of the line to read next.
+     */
+    void seek(int lineStart, int lineNumber) {
+        lexer.seek(lineStart, lineNumber);
+        containers.clear();
+        blockDepth = 0;
+        lineConsumed = true;
+        event = null;
+    }
+
+    private void checkValueType(ScalarScanner.Type expected) throws OffsetConfigException {
+        if (valueType == null) throw new OffsetConfigException("Expected value of type '%s' at line '%s', but got '%s'!", expected, lexer.lineNumber, event);
+        if (valueType != expected && !scanner.isCompatibleWith(expected)) throw new OffsetConfigException("Expected value of type '%s' at line '%s', but got '%s'!", expected, lexer.lineNumber, valueType);
+    }
+
+    /**
+     * @return the number of the line the current event was read from, starting from 0.
+     */
+    public int getLineNumber() {
+        return lexer.lineNumber;
+    }
+
+    private ConfigEvent readEvent() throws OffsetConfigException {
+        if (lineConsumed && !nextContentLine()) {
+            if (!containers.isEmpty()) throw new OffsetConfigException("Expected '%s' before the end of the content!", containers.peek().close());
+
+            // Close all blocks that are still open.
+            if (blockDepth > 0) {
+                blockDepth--;
+                return ConfigEvent.BLOCK_END;
+            }
+
+            return ConfigEvent.END_DOCUMENT;
+        }
+
+        if (lexer.isComment()) {
+            lineConsumed = true;
+            comment = lexer.comment();
+            return ConfigEvent.COMMENT;
+        }
+
+        final Container container = containers.peek();
+        if (container == null) return readBlockLine();
+
+        lineConsumed = true;
+        if (container.array) return readArrayLine(container.type);
+        return readObjectLine(container.type);
+    }
+
+    /**
+     * Moves the lexer to the next line that isn't blank.
+     *
+     * @return false if the end of the content was reached.
+     */
+    private boolean nextContentLine() {
+        while (lexer.nextLine()) {
+            if (lexer.isBlank()) continue;
+
+            lineConsumed = false;
+            return true;
+        }
+        return false;
+    }
+
+    private ConfigEvent readBlockLine() throws OffsetConfigException {
+        final int indentLevel = lexer.indentation() / OffsetConfig538.INDENTATION_SIZE;
+
+        // If we are on a lower level of indentation from our parent,
+        // then it isn't our parent. The line is read again after the block is closed.
+        if (indentLevel < blockDepth) {
+            blockDepth--;
+            return ConfigEvent.BLOCK_END;
+        }
+
+        lineConsumed = true;
+        key = lexer.key();
+
+        // Check if this is the start of a block.
+        if (lexer.lastChar() == OffsetConfig538.BLOCK_START_INDICATOR.charAt(0)) {
+            blockDepth++;
+            return ConfigEvent.BLOCK_START;
+        }
+
+        return readValue();
+    }
+
+    private ConfigEvent readArrayLine(String type) throws OffsetConfigException {
+        final char lastChar = lexer.lastChar();
+
+        // Arrays of arrays aren't supported.
+        if (lastChar == OffsetConfig538.ARRAY_OPEN.charAt(0)) throw new OffsetConfigException("Expected value of type '%s' in array at line '%s', but got another array!", type, lexer.lineNumber);
+        // Nesting isn't supported in arrays.
+        if (lastChar == OffsetConfig538.BLOCK_START_INDICATOR.charAt(0)) throw new OffsetConfigException("Expected value of type '%s' in array at line '%s', but got a block start!", type, lexer.lineNumber);
+        // Array close is the end of an array.
+        if (lastChar == OffsetConfig538.ARRAY_CLOSE.charAt(0)) {
+            containers.pop();
+            return ConfigEvent.ARRAY_END;
+        }
+
+        // Handle array of objects
+        final ScalarScanner.Type valueType = ScalarScanner.forArrayType(type);
+        if (valueType == null) {
+            if (lexer.end - lexer.start != 1 || lexer.charAt(lexer.start) != OffsetConfig538.OBJECT_OPEN.charAt(0))
+                throw new OffsetConfigException("Expected '%s' in array of type '%s' at line '%s', but got '%s'!", OffsetConfig538.OBJECT_OPEN, type, lexer.lineNumber, lexer.trimmedLine());
+
+            this.type = type;
+            containers.push(new Container(false, type));
+            return ConfigEvent.OBJECT_START;
+        }
+
+        if (structureOnly) return ConfigEvent.VALUE;
+
+        if (valueType == ScalarScanner.Type.STRING && lexer.charAt(lexer.start) != '"')
+            throw new OffsetConfigException("Expected double quotes (\") around string array value '%s' at line '%s'!", lexer.trimmedLine(), lexer.lineNumber);
+        if (!scanner.scan(lexer, lexer.start, lexer.end) || !scanner.isCompatibleWith(valueType))
+            throw new OffsetConfigException("Invalid value '%s' of type '%s' in array at line '%s'!", lexer.trimmedLine(), type, lexer.lineNumber);
+
+        this.valueType = valueType;
+        return ConfigEvent.VALUE;
+    }
+
+    private ConfigEvent readObjectLine(String type) throws OffsetConfigException {
+        final char lastChar = lexer.lastChar();
+
+        // The object is finished when we encounter
+        // an equal number of open and close characters.
+        if (lastChar == OffsetConfig538.OBJECT_CLOSE.charAt(0)) {
+            containers.pop();
+            return ConfigEvent.OBJECT_END;
+        }
+
+        // Nesting isn't supported in objects.
+        if (lastChar == OffsetConfig538.BLOCK_START_INDICATOR.charAt(0)) throw new OffsetConfigException("Expected value of type '%s' in object at line '%s', but got a block start!", type, lexer.lineNumber);
+
+        key = lexer.key();
+        return readValue();
+    }
+
+    /**
+     * Reads the value of the current key-value pair.
+     *
+     * @return {@link ConfigEvent#ENTRY} for basic values, {@link ConfigEvent#ARRAY_START} or {@link ConfigEvent#OBJECT_START} for typed values.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     */
+    private ConfigEvent readValue() throws OffsetConfigException {
+        final int valueStart = lexer.valueStart;
+        final int valueEnd = lexer.valueEnd;
+
+        // Strings, booleans and numbers.
+        if (structureOnly && !isTypedValue(valueStart, valueEnd)) return ConfigEvent.ENTRY;
+        if (scanner.scan(lexer, valueStart, valueEnd)) {
+            valueType = scanner.type;
+            return ConfigEvent.ENTRY;
+        }
+
+        // Objects and arrays need to define their type.
+        if (valueStart < valueEnd && lexer.charAt(valueStart) == OffsetConfig538.TYPE_PREFIX.charAt(0)) {
+            // Type starts after the type prefix
+            // and ends before the last character which is either
+            // an array open or an object open.
+            final char lastChar = lexer.charAt(valueEnd - 1);
+            int typeEnd = valueEnd - 1;
+            while (typeEnd > valueStart + 1 && lexer.charAt(typeEnd - 1) <= ' ') typeEnd--;
+
+            // Array if value ends with array open.
+            if (lastChar == OffsetConfig538.ARRAY_OPEN.charAt(0)) {
+                type = lexer.text(valueStart + 1, typeEnd);
+                containers.push(new Container(true, type));
+                return ConfigEvent.ARRAY_START;
+            }
+
+            // Object if value ends with object open.
+            if (lastChar == OffsetConfig538.OBJECT_OPEN.charAt(0)) {
+                type = lexer.text(valueStart + 1, typeEnd);
+                containers.push(new Container(false, type));
+                return ConfigEvent.OBJECT_START;
+            }
+
+            throw new OffsetConfigException("Expected '%s' or '%s' at the end of '%s' at line '%s'!",
+                    OffsetConfig538.ARRAY_OPEN,
+                    OffsetConfig538.OBJECT_OPEN,
+                    lexer.value(),
+                    lexer.lineNumber
+            );
+        }
+
+        throw new OffsetConfigException("Invalid value '%s' at line '%s'!", lexer.value(), lexer.lineNumber);
+    }
+
+    /**
+     * Checks if the value between the provided indices is the start of an array or object.
+     * Basic values never start with the type prefix and end with an array or object open.
+     *
+     * @param valueStart the start of the value, inclusive.
+     * @param valueEnd the end of the value, exclusive.
+     * @return if the value is the start of an array or object.
+     */
+    private boolean isTypedValue(int valueStart, int valueEnd) {
+        if (valueEnd - valueStart < 2 || lexer.charAt(valueStart) != OffsetConfig538.TYPE_PREFIX.charAt(0)) return false;
+
+        final char lastChar = lexer.charAt(valueEnd - 1);
+        return lastChar == OffsetConfig538.ARRAY_OPEN.charAt(0) || lastChar == OffsetConfig538.OBJECT_OPEN.charAt(0);
+    }
+
+    /**
+     * An array or object that's currently open.
+     *
+     * @param array if this is an array instead of an object.
+     * @param type the type of the array content or of the object.
+     */
+    private record Container(boolean array, String type) {
+
+        /**
+         * @return the character that closes this container.
+         */
+        String close() {
+            return array ? OffsetConfig538.ARRAY_CLOSE : OffsetConfig538.OBJECT_CLOSE;
+        }
+    }
+}
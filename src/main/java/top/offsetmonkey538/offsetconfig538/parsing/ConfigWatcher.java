@@ -0,0 +1,310 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import top.offsetmonkey538.offsetconfig538.ConfigSnapshot;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+/**
+ * Reloads config files on a background thread when they change.
+ * <br>
+ * The directories of the watched files are watched using a {@link WatchService}. Changes to a file are combined until it hasn't changed
+ * for the configured delay, so saving a file in several steps only reloads it once. Files replaced by moving another file over them,
+ * like {@link top.offsetmonkey538.offsetconfig538.generating.ConfigSaver} does, are reloaded as well.
+ * <br>
+ * The parsed content of a file is published as a {@link ConfigSnapshot} by replacing the reference held by its {@link WatchedConfig} in a single step,
+ * so readers on any thread see either the old or the new content as a whole without locking. When reloading fails, the old content is kept.
+ */
+public final class ConfigWatcher implements AutoCloseable {
+    private final Parser parser;
+    private final long delayNanos;
+    private final WatchService watchService;
+    private final ScheduledThreadPoolExecutor executor;
+
+    // Guarded by this.
+    private final Map<Path, WatchedConfig> watchedConfigs = new HashMap<>();
+    private final Map<Path, WatchKey> watchedDirectories = new HashMap<>();
+    // Files being parsed by watch, mapped to whether they changed while being parsed.
+    private final Map<Path, Boolean> loadingFiles = new HashMap<>();
+    private boolean closed;
+
+    private volatile Thread reloaderThread;
+
+    /**
+     * Constructs a new ConfigWatcher and starts its background threads.
+     *
+     * @param parser The parser to parse the configs with.
+     * @param delay How long a file needs to stay unchanged before it's reloaded.
+     * @throws IOException when the watch service can't be created.
+     */
+    public ConfigWatcher(Parser parser, Duration delay) throws IOException {
+        this.parser = parser;
+        this.delayNanos = delay.toNanos();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "OffsetConfig538 Reloader");
+            thread.setDaemon(true);
+            reloaderThread = thread;
+            return thread;
+        });
+        // Nothing is published after closing, so delayed reloads don't have anything left to do after that.
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        executor.setRemoveOnCancelPolicy(true);
+        this.executor = executor;
+
+        final Thread watchThread = new Thread(this::pollEvents, "OffsetConfig538 Watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    /**
+     * Parses the UTF-8 config file at the provided path and starts watching it for changes.
+     * <br>
+     * Watching the same file again returns the same {@link WatchedConfig}.
+     *
+     * @param path The path of the config file.
+     * @return the watched config, holding the current content of the file.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     * @throws IOException when reading the file or watching its directory fails.
+     * @throws IllegalStateException when the watcher is closed.
+     * @see Parser#parse(Path)
+     */
+    public WatchedConfig watch(Path path) throws OffsetConfigException, IOException {
+        final Path file = path.toAbsolutePath().normalize();
+        final Path directory = file.getParent();
+
+        // Register the directory before parsing, so changes made while the file is parsed aren't missed.
+        synchronized (this) {
+            if (closed) throw new IllegalStateException("Watcher is closed!");
+
+            final WatchedConfig existing = watchedConfigs.get(file);
+            if (existing != null) return existing;
+
+            if (!watchedDirectories.containsKey(directory)) {
+                watchedDirectories.put(directory, directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY));
+            }
+            loadingFiles.putIfAbsent(file, false);
+        }
+
+        WatchedConfig watchedConfig = null;
+        try {
+            watchedConfig = new WatchedConfig(file, ConfigSnapshot.of(parser.parse(file)));
+        } finally {
+            synchronized (this) {
+                final Boolean changed = loadingFiles.remove(file);
+
+                if (watchedConfig != null && !closed && !watchedConfigs.containsKey(file)) {
+                    watchedConfigs.put(file, watchedConfig);
+                    // The file changed after it was registered, so it might have been parsed before the change.
+                    if (Boolean.TRUE.equals(changed)) scheduleReload(file);
+                } else if (watchedConfig == null) {
+                    unwatchUnusedDirectory(directory);
+                }
+            }
+        }
+
+        synchronized (this) {
+            if (closed) throw new IllegalStateException("Watcher is closed!");
+
+            return watchedConfigs.get(file);
+        }
+    }
+
+    /**
+     * Stops watching all files. Reloads that haven't started yet are dropped, reloads in progress are waited for,
+     * unless this is called from a listener, which is run by the reload itself.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+
+        try {
+            // Stops the watch thread.
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+
+        executor.shutdown();
+        // Waiting from the reloader thread would wait for the reload that's calling this.
+        if (Thread.currentThread() == reloaderThread) return;
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void pollEvents() {
+        while (true) {
+            final WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (ClosedWatchServiceException | InterruptedException e) {
+                return;
+            }
+
+            final Path directory = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                // Events were lost, so any file in the directory could have changed.
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    scheduleReloads(directory);
+                    continue;
+                }
+
+                scheduleReload(directory.resolve((Path) event.context()));
+            }
+
+            if (!key.reset()) {
+                synchronized (this) {
+                    // The directory might have been registered again with a new key since.
+                    watchedDirectories.remove(directory, key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops watching the provided directory if no watched or loading file is in it, like after the only file in it failed to parse.
+     */
+    private synchronized void unwatchUnusedDirectory(Path directory) {
+        for (Path file : watchedConfigs.keySet()) {
+            if (directory.equals(file.getParent())) return;
+        }
+        for (Path file : loadingFiles.keySet()) {
+            if (directory.equals(file.getParent())) return;
+        }
+
+        final WatchKey key = watchedDirectories.remove(directory);
+        if (key != null) key.cancel();
+    }
+
+    /**
+     * @param directory The absolute path of the directory.
+     * @return true if the directory is registered with the watch service.
+     */
+    synchronized boolean isWatching(Path directory) {
+        return watchedDirectories.containsKey(directory);
+    }
+
+    private synchronized void scheduleReloads(Path directory) {
+        for (Path file : watchedConfigs.keySet()) {
+            if (directory.equals(file.getParent())) scheduleReload(file);
+        }
+        for (Map.Entry<Path, Boolean> loadingFile : loadingFiles.entrySet()) {
+            if (directory.equals(loadingFile.getKey().getParent())) loadingFile.setValue(true);
+        }
+    }
+
+    private synchronized void scheduleReload(Path file) {
+        if (closed) return;
+
+        final WatchedConfig watchedConfig = watchedConfigs.get(file);
+        if (watchedConfig == null) {
+            // Reloaded once watch has finished parsing it.
+            loadingFiles.replace(file, true);
+            return;
+        }
+
+        // Restart the delay, so the file is only reloaded once it stops changing.
+        // Reloads that already started aren't affected, the file is just reloaded again after them.
+        if (watchedConfig.pendingReload != null) watchedConfig.pendingReload.cancel(false);
+        watchedConfig.pendingReload = executor.schedule(() -> reload(watchedConfig), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void reload(WatchedConfig watchedConfig) {
+        final ConfigSnapshot snapshot;
+        try {
+            snapshot = ConfigSnapshot.of(parser.parse(watchedConfig.path));
+        } catch (Exception e) {
+            watchedConfig.lastFailure = e;
+            return;
+        }
+
+        watchedConfig.lastFailure = null;
+        watchedConfig.snapshot.set(snapshot);
+        for (Consumer<ConfigSnapshot> listener : watchedConfig.listeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (RuntimeException ignored) {
+                // A failing listener shouldn't stop the others or the reloader.
+            }
+        }
+    }
+
+    /**
+     * A config file watched by a {@link ConfigWatcher}, holding its current content.
+     */
+    public static final class WatchedConfig {
+        private final Path path;
+        private final AtomicReference<ConfigSnapshot> snapshot;
+        private final List<Consumer<ConfigSnapshot>> listeners = new CopyOnWriteArrayList<>();
+        private volatile Exception lastFailure;
+        // Guarded by the watcher, the last scheduled reload.
+        private ScheduledFuture<?> pendingReload;
+
+        private WatchedConfig(Path path, ConfigSnapshot snapshot) {
+            this.path = path;
+            this.snapshot = new AtomicReference<>(snapshot);
+        }
+
+        /**
+         * @return the absolute path of the config file.
+         */
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * Gets the content of the file as it was last loaded successfully. Can be called from any thread.
+         * <br>
+         * The returned snapshot never changes, a reload replaces it with a new one.
+         *
+         * @return the current content of the file.
+         */
+        public ConfigSnapshot get() {
+            return snapshot.get();
+        }
+
+        /**
+         * @return the exception thrown by the last reload, or null if it succeeded.
+         */
+        public Exception getLastFailure() {
+            return lastFailure;
+        }
+
+        /**
+         * Adds a listener called on the background thread with the new content every time the file is reloaded successfully.
+         *
+         * @param listener The listener to add.
+         * @return this watched config.
+         */
+        public WatchedConfig addListener(Consumer<ConfigSnapshot> listener) {
+            listeners.add(listener);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import top.offsetmonkey538.offsetconfig538.ConfigEntryWithComment;
+
+/**
+ * Parsed OffsetConfig content that can be updated with edits to the content without parsing all of it again.
+ * <br>
+ * Keeps the content and the position of every entry in it. When the content is edited, only the top-level
+ * blocks and entries around the edit are parsed again and the values of the others are reused.
+ * <br>
+ * Created using {@link Parser#parseIncremental(String)} and updated using {@link Parser#reparse(IncrementalConfig, TextEdit)}.
+ * Immutable, updating returns a new IncrementalConfig.
+ */
+public final class IncrementalConfig {
+    final String content;
+    final StructuralIndex index;
+    final Object[] values;
+
+    private Map<String, ConfigEntryWithComment> entries;
+
+    /**
+     * Constructs a new IncrementalConfig.
+     *
+     * @param content the parsed content.
+     * @param index the index of the content.
+     * @param values the decoded value of each entry in the index.
+     */
+    IncrementalConfig(String content, StructuralIndex index, Object[] values) {
+        this.content = content;
+        this.index = index;
+        this.values = values;
+    }
+
+    /**
+     * @return the parsed content.
+     */
+    public String getContent() {
+        return content;
+    }
+
+    /**
+     * @return the number of entries in the content, including blocks and entries with the same key as an earlier one.
+     */
+    public int size() {
+        return index.size;
+    }
+
+    /**
+     * @param entry the position of the entry in the content, from 0 to {@link #size()}.
+     * @return the full key of the entry.
+     */
+    public String getKey(int entry) {
+        return index.keys[checkEntry(entry)];
+    }
+
+    /**
+     * @param entry the position of the entry in the content, from 0 to {@link #size()}.
+     * @return the comment of the entry.
+     */
+    public String getComment(int entry) {
+        return index.comments[checkEntry(entry)];
+    }
+
+    /**
+     * @param entry the position of the entry in the content, from 0 to {@link #size()}.
+     * @return the value of the entry or null if the entry is a block.
+     */
+    public Object getValue(int entry) {
+        return values[checkEntry(entry)];
+    }
+
+    /**
+     * @param entry the position of the entry in the content, from 0 to {@link #size()}.
+     * @return if the entry is a block.
+     */
+    public boolean isBlock(int entry) {
+        return index.kinds[checkEntry(entry)] == StructuralIndex.BLOCK;
+    }
+
+    /**
+     * @param entry the position of the entry in the content, from 0 to {@link #size()}.
+     * @return the number of blocks the entry is in.
+     */
+    public int getDepth(int entry) {
+        return index.depths[checkEntry(entry)];
+    }
+
+    /**
+     * @param entry the position of the entry in the content, from 0 to {@link #size()}.
+     * @return the offset of the start of the first line of the entry in the content.
+     */
+    public int getStart(int entry) {
+        return index.starts[checkEntry(entry)];
+    }
+
+    /**
+     * @param entry the position of the entry in the content, from 0 to {@link #size()}.
+     * @return the offset of the end of the last line of the entry in the content, excluding the line ending.
+     *         For arrays and objects this is the line closing them and for blocks the end of their last child.
+     */
+    public int getEnd(int entry) {
+        return index.ends[checkEntry(entry)];
+    }
+
+    private int checkEntry(int entry) {
+        if (entry < 0 || entry >= index.size) throw new IndexOutOfBoundsException(String.format("Entry '%s' out of bounds for '%s' entries!", entry, index.size));
+        return entry;
+    }
+
+    /**
+     * Gets the entries as a map like the one returned by {@link Parser#parse(String)}.
+     *
+     * @return an unmodifiable map of String key to {@link ConfigEntryWithComment} value.
+     */
+    public Map<String, ConfigEntryWithComment> getEntries() {
+        if (entries != null) return entries;
+
+        final Map<String, ConfigEntryWithComment> entries = new LinkedHashMap<>(index.size);
+        for (int i = 0; i < index.size; i++) {
+            entries.put(index.keys[i], new ConfigEntryWithComment(index.comments[i], values[i]));
+        }
+
+        this.entries = Collections.unmodifiableMap(entries);
+        return this.entries;
+    }
+}
@@ -0,0 +1,139 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import top.offsetmonkey538.offsetconfig538.ConfigEntryWithComment;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+/**
+ * Parsed OffsetConfig content where values are decoded when they are first accessed.
+ * <br>
+ * Only the keys, comments and the positions of values in the content are stored when parsing.
+ * Reading a value decodes it and, for objects, deserializes it using the registered serializer.
+ * Decoded values are cached, so every value is only decoded once.
+ * <br>
+ * Created using {@link Parser#parseLazy(String)}. Not thread-safe.
+ */
+public class LazyConfig {
+    private static final Object NOT_DECODED = new Object();
+
+    private final Parser parser;
+    private final String content;
+    private final StructuralIndex index;
+
+    private final Map<String, Integer> indices;
+    private final Object[] values;
+
+    /**
+     * Constructs a new LazyConfig.
+     *
+     * @param parser the parser used to decode values.
+     * @param content the content the values are in.
+     * @param index the index of the content.
+     */
+    LazyConfig(Parser parser, String content, StructuralIndex index) {
+        this.parser = parser;
+        this.content = content;
+        this.index = index;
+        this.indices = new LinkedHashMap<>(index.size);
+        this.values = new Object[index.size];
+
+        for (int i = 0; i < index.size; i++) {
+            // Duplicate keys replace the earlier entry, like in a map.
+            indices.put(index.keys[i], i);
+            if (index.kinds[i] != StructuralIndex.BLOCK) values[i] = NOT_DECODED;
+        }
+    }
+
+    /**
+     * @return the keys of all entries, in the order they are in the content.
+     */
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(indices.keySet());
+    }
+
+    /**
+     * @return the number of entries, including blocks.
+     */
+    public int size() {
+        return indices.size();
+    }
+
+    /**
+     * @param key the full key of the entry.
+     * @return if there is an entry with the provided key.
+     */
+    public boolean containsKey(String key) {
+        return indices.containsKey(key);
+    }
+
+    /**
+     * Gets the comment for the provided key. Doesn't decode the value.
+     *
+     * @param key the full key of the entry.
+     * @return the comment for the provided key or null if there is no entry with the key.
+     */
+    public String getComment(String key) {
+        final Integer index = indices.get(key);
+        if (index == null) return null;
+        return this.index.comments[index];
+    }
+
+    /**
+     * Gets the value for the provided key, decoding it if it wasn't decoded yet.
+     *
+     * @param key the full key of the entry.
+     * @return the value for the provided key or null if there is no entry with the key or the entry is a block.
+     * @throws OffsetConfigException when something goes wrong when decoding the value.
+     */
+    public Object get(String key) throws OffsetConfigException {
+        final Integer index = indices.get(key);
+        if (index == null) return null;
+        return getValue(index);
+    }
+
+    /**
+     * Gets the entry for the provided key, decoding its value if it wasn't decoded yet.
+     *
+     * @param key the full key of the entry.
+     * @return the entry for the provided key or null if there is no entry with the key.
+     * @throws OffsetConfigException when something goes wrong when decoding the value.
+     */
+    public ConfigEntryWithComment getEntry(String key) throws OffsetConfigException {
+        final Integer index = indices.get(key);
+        if (index == null) return null;
+        return new ConfigEntryWithComment(this.index.comments[index], getValue(index));
+    }
+
+    /**
+     * Decodes all values and puts them into a map like the one returned by {@link Parser#parse(String)}.
+     *
+     * @return all entries as a map of String key to {@link ConfigEntryWithComment} value.
+     * @throws OffsetConfigException when something goes wrong when decoding the values.
+     */
+    public Map<String, ConfigEntryWithComment> toMap() throws OffsetConfigException {
+        final Map<String, ConfigEntryWithComment> entries = new LinkedHashMap<>(indices.size());
+
+        for (Map.Entry<String, Integer> entry : indices.entrySet()) {
+            final int index = entry.getValue();
+            entries.put(entry.getKey(), new ConfigEntryWithComment(this.index.comments[index], getValue(index)));
+        }
+
+        return entries;
+    }
+
+    private Object getValue(int index) throws OffsetConfigException {
+        if (values[index] != NOT_DECODED) return values[index];
+
+        // Read the entry again, starting from its line.
+        final ConfigEventReader reader = new ConfigEventReader(new StringLexer(content, this.index.starts[index], this.index.lineNumbers[index]));
+        reader.next();
+
+        final Object value = parser.parseValue(reader);
+        values[index] = value;
+
+        return value;
+    }
+}
@@ -0,0 +1,201 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+/**
+ * Walks OffsetConfig content line by line in a single pass.
+ * <br>
+ * Instead of splitting the content into lines and trimming them, the lexer only stores
+ * offsets into its input. Strings are only created for the parts that are actually used.
+ * <br>
+ * Implementations decide where the characters come from, offsets are only valid until the next call to {@link #nextLine()}.
+ */
+abstract class Lexer {
+    /**
+     * The number of the current line, starting from 0.
+     */
+    int lineNumber = -1;
+    /**
+     * The start of the current line, including indentation.
+     */
+    int lineStart;
+    /**
+     * The end of the current line, excluding the line ending.
+     */
+    int lineEnd;
+    /**
+     * The first non-whitespace character of the current line.
+     */
+    int start;
+    /**
+     * The end of the last non-whitespace character of the current line.
+     */
+    int end;
+    /**
+     * The key-value delimiter or block start indicator ending the key, or -1 if the line doesn't have one.
+     */
+    int delimiter;
+    /**
+     * The start of the value, after the key-value delimiter.
+     */
+    int valueStart;
+    /**
+     * The end of the value.
+     */
+    int valueEnd;
+
+    /**
+     * Moves to the next line.
+     *
+     * @return false if the end of the content was reached.
+     * @throws java.io.UncheckedIOException when reading the content fails.
+     */
+    final boolean nextLine() {
+        if (!readLine()) return false;
+
+        lineNumber++;
+        tokenize();
+        return true;
+    }
+
+    /**
+     * Finds the next line and sets {@link #lineStart} and {@link #lineEnd} to its bounds.
+     *
+     * @return false if the end of the content was reached.
+     * @throws java.io.UncheckedIOException when reading the content fails.
+     */
+    protected abstract boolean readLine();
+
+    /**
+     * Moves the lexer to the provided line. Only supported by lexers with random access to their content.
+     *
+     * @param position the offset of the line to read next.
+     * @param lineNumber the number of the line to read next.
+     * @throws UnsupportedOperationException when the lexer doesn't support moving.
+     */
+    void seek(int position, int lineNumber) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " can't seek!");
+    }
+
+    /**
+     * @param index the index of the character.
+     * @return the character at the provided index.
+     */
+    abstract char charAt(int index);
+
+    /**
+     * @param start the start of the text, inclusive.
+     * @param end the end of the text, exclusive.
+     * @return the text between the provided indices.
+     */
+    abstract String text(int start, int end);
+
+    private void tokenize() {
+        // Trim whitespace (and the CR of CR/LF line endings) from both sides.
+        int start = lineStart;
+        while (start < lineEnd && charAt(start) <= ' ') start++;
+        int end = lineEnd;
+        while (end > start && charAt(end - 1) <= ' ') end--;
+
+        this.start = start;
+        this.end = end;
+        this.delimiter = -1;
+        this.valueStart = start;
+        this.valueEnd = end;
+
+        if (isBlank() || isComment()) return;
+
+        // The key ends at the first key-value delimiter or,
+        // if there isn't one, at the first block start indicator.
+        int blockStartIndicator = -1;
+        for (int i = start; i < end; i++) {
+            final char c = charAt(i);
+            if (c == '=') {
+                delimiter = i;
+                break;
+            }
+            if (c == ':' && blockStartIndicator == -1) blockStartIndicator = i;
+        }
+
+        if (delimiter == -1) {
+            delimiter = blockStartIndicator;
+            return;
+        }
+
+        // The value starts after the key-value delimiter.
+        int valueStart = delimiter + 1;
+        while (valueStart < end && charAt(valueStart) <= ' ') valueStart++;
+        this.valueStart = valueStart;
+    }
+
+    /**
+     * @return if the current line only contains whitespace.
+     */
+    boolean isBlank() {
+        return start == end;
+    }
+
+    /**
+     * @return if the current line is a comment.
+     */
+    boolean isComment() {
+        return start < end && charAt(start) == OffsetConfig538.COMMENT_PREFIX.charAt(0);
+    }
+
+    /**
+     * @return the amount of whitespace in front of the current line.
+     */
+    int indentation() {
+        return start - lineStart;
+    }
+
+    /**
+     * @return the last non-whitespace character of the current line.
+     */
+    char lastChar() {
+        return charAt(end - 1);
+    }
+
+    /**
+     * @return the current line without leading and trailing whitespace.
+     */
+    String trimmedLine() {
+        return text(start, end);
+    }
+
+    /**
+     * @return the text of the current comment, without the comment prefix.
+     */
+    String comment() {
+        int commentStart = start + 1;
+        while (commentStart < end && charAt(commentStart) <= ' ') commentStart++;
+        return text(commentStart, end);
+    }
+
+    /**
+     * @return the value of the current line.
+     */
+    String value() {
+        return text(valueStart, valueEnd);
+    }
+
+    /**
+     * Gets the key of the current line.
+     *
+     * @return The key of the line.
+     * @throws OffsetConfigException when the line doesn't have a key.
+     */
+    String key() throws OffsetConfigException {
+        if (delimiter == -1)
+            throw new OffsetConfigException("Expected '%s' or '%s' in '%s' at line '%s'!", OffsetConfig538.KEY_VALUE_DELIMITER, OffsetConfig538.BLOCK_START_INDICATOR, text(lineStart, lineEnd), lineNumber);
+
+        int keyEnd = delimiter;
+        while (keyEnd > start && charAt(keyEnd - 1) <= ' ') keyEnd--;
+
+        if (keyEnd == start)
+            throw new OffsetConfigException("Expected key in '%s' at line '%s'!", text(lineStart, lineEnd), lineNumber);
+
+        return text(start, keyEnd);
+    }
+}
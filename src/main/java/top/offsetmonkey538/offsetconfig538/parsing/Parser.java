@@ -1,22 +1,41 @@
 package top.offsetmonkey538.offsetconfig538.parsing;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import top.offsetmonkey538.offsetconfig538.ConfigEntryWithComment;
+import top.offsetmonkey538.offsetconfig538.ConfigNode;
 import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
 import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
 import top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigSerializer;
+import top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigStreamSerializer;
 
 /**
  * Used to parse OffsetConfig content.
+ * <br>
+ * Immutable and safe to use from multiple threads at once: everything specific to a single parse,
+ * like the current line and the open blocks and arrays, is kept in a {@link ConfigEventReader} created for that parse.
+ * The registered serializers need to be thread-safe when parsing on multiple threads.
  */
-public class Parser {
-    private int currentLineNumber;
-    private String[] lines;
-
+public final class Parser {
     private final OffsetConfig538 offsetConfig538;
 
     /**
@@ -56,208 +75,573 @@ public class Parser {
      * @see #parseWithoutComments(String)
      */
     public Map<String, ConfigEntryWithComment> parse(String content) throws OffsetConfigException {
-        final Map<String, ConfigEntryWithComment> entries = new LinkedHashMap<>();
+        return parse(new StringLexer(content));
+    }
 
-        // Split content at CR/LF (Windows line-ending) or LF (Unix line-ending).
-        this.lines = content.split("\\r?\\n");
+    /**
+     * Parses the provided config content into a tree of {@link ConfigNode ConfigNodes}.
+     * <br>
+     * Unlike {@link #parse(String)}, the full keys of the entries aren't built, every node only stores its own key.
+     *
+     * @param content The config content. Should contain line endings.
+     * @return the root node of the content.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     * @see ConfigNode#toFlatMap()
+     */
+    public ConfigNode parseTree(String content) throws OffsetConfigException {
+        final ConfigEventReader reader = new ConfigEventReader(new StringLexer(content));
+        final ConfigNode root = new ConfigNode();
 
         // Store the current parent in a stack.
-        final Stack<String> parentStack = new Stack<>();
+        final Stack<ConfigNode> parentStack = new Stack<>();
+        ConfigNode parent = root;
 
         // Store the comment
         String comment = "";
 
-        for (currentLineNumber = 0; currentLineNumber < lines.length; currentLineNumber++) {
-            String line = lines[currentLineNumber];
-            String trimmedLine = line.trim();
-
-            // Skip empty lines.
-            if (trimmedLine.isEmpty()) {
-                continue;
+        while (reader.hasNext()) {
+            final ConfigEvent event = reader.next();
+
+            switch (event) {
+                // Store comment for later.
+                case COMMENT -> comment = reader.getComment();
+                // The parent block has ended.
+                case BLOCK_END -> parent = parentStack.pop();
+                case BLOCK_START, ENTRY, ARRAY_START, OBJECT_START -> {
+                    final ConfigNode node = parent.getOrCreateChild(reader.getKey()).setComment(comment);
+
+                    // Make ourselves the parent if we are a parent.
+                    if (event == ConfigEvent.BLOCK_START) {
+                        node.setValue(null);
+                        parentStack.push(parent);
+                        parent = node;
+                        continue;
+                    }
+
+                    // Parse the value and add it to the node
+                    node.setValue(parseValue(reader));
+                }
+                case END_DOCUMENT -> {
+                }
+                default -> throw new OffsetConfigException("Unexpected '%s' at line '%s'!", event, reader.getLineNumber());
             }
+        }
 
-            // Store comment for later.
-            if (trimmedLine.startsWith(OffsetConfig538.COMMENT_PREFIX)) {
-                comment = trimmedLine.substring(1).trim();
-                continue;
+        return root;
+    }
+
+    /**
+     * Parses the config content read from the provided reader into a map of String key to {@link ConfigEntryWithComment} value.
+     * <br>
+     * The content is read incrementally through a bounded buffer, so it never needs to be in memory as a whole.
+     * The reader isn't closed.
+     *
+     * @param reader The reader to read the config content from.
+     * @return the read content as a map of String key to {@link ConfigEntryWithComment} value.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     * @throws IOException when reading from the reader fails.
+     * @see #parse(String)
+     */
+    public Map<String, ConfigEntryWithComment> parse(Reader reader) throws OffsetConfigException, IOException {
+        try {
+            return parse(new ReaderLexer(reader));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses the config content read from the provided input stream into a map of String key to {@link ConfigEntryWithComment} value.
+     * The input stream isn't closed.
+     *
+     * @param inputStream The input stream to read the config content from.
+     * @param charset The charset of the config content.
+     * @return the read content as a map of String key to {@link ConfigEntryWithComment} value.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     * @throws IOException when reading from the input stream fails.
+     * @see #parse(Reader)
+     */
+    public Map<String, ConfigEntryWithComment> parse(InputStream inputStream, Charset charset) throws OffsetConfigException, IOException {
+        return parse(new InputStreamReader(inputStream, charset));
+    }
+
+    /**
+     * Parses the UTF-8 config file at the provided path into a map of String key to {@link ConfigEntryWithComment} value.
+     *
+     * @param path The path of the config file.
+     * @return the content of the file as a map of String key to {@link ConfigEntryWithComment} value.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     * @throws IOException when reading the file fails.
+     * @see #parse(Reader)
+     */
+    public Map<String, ConfigEntryWithComment> parse(Path path) throws OffsetConfigException, IOException {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return parse(inputStream, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Parses the UTF-8 config content in the provided buffer into a map of String key to {@link ConfigEntryWithComment} value.
+     * <br>
+     * The content is read straight from the buffer, only keys, values and comments are decoded into Strings.
+     *
+     * @param buffer The buffer containing the config content from its position to its limit. The position of the buffer isn't changed.
+     * @return the content as a map of String key to {@link ConfigEntryWithComment} value.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     * @see #parseMapped(Path)
+     */
+    public Map<String, ConfigEntryWithComment> parse(ByteBuffer buffer) throws OffsetConfigException {
+        return parse(new ByteBufferLexer(buffer));
+    }
+
+    /**
+     * Memory-maps the UTF-8 config file at the provided path and parses it into a map of String key to {@link ConfigEntryWithComment} value.
+     * <br>
+     * The file is never copied onto the heap, which is useful for very large configs that are mostly read.
+     *
+     * @param path The path of the config file.
+     * @return the content of the file as a map of String key to {@link ConfigEntryWithComment} value.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     * @throws IOException when mapping the file fails or when the file is too large to be mapped.
+     * @see #parse(ByteBuffer)
+     * @see #parse(Path)
+     */
+    public Map<String, ConfigEntryWithComment> parseMapped(Path path) throws OffsetConfigException, IOException {
+        final MappedByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException(String.format("File '%s' is too large to be mapped!", path));
+
+            // The mapping stays valid after the channel is closed.
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        return parse(buffer);
+    }
+
+    /**
+     * Parses the provided config content into a {@link LazyConfig}.
+     * <br>
+     * Only the keys, comments and the positions of the values are read here.
+     * Values are decoded and objects deserialized when they are first accessed.
+     *
+     * @param content The config content. Should contain line endings.
+     * @return the provided content as a {@link LazyConfig}.
+     * @throws OffsetConfigException when something goes wrong when parsing the structure of the content.
+     * @see #parse(String)
+     */
+    public LazyConfig parseLazy(String content) throws OffsetConfigException {
+        return new LazyConfig(this, content, StructuralIndex.build(new StringLexer(content)));
+    }
+
+    /**
+     * Parses the provided config content straight into a new instance of the provided record or class.
+     * <br>
+     * Entries are bound to the components of records or the non-static, non-transient, non-final fields of classes with the same name
+     * as they are read, without building a map of the content first. Blocks are bound to a record or class of their own.
+     * Entries without a matching component or field are skipped. Missing components are null, zero or false,
+     * missing fields keep the value set by the constructor without parameters of the class.
+     *
+     * @param content The config content. Should contain line endings.
+     * @param type The record or class to parse the content into.
+     * @param <T> The record or class to parse the content into.
+     * @return the provided content as a new instance of the provided type.
+     * @throws OffsetConfigException when something goes wrong when parsing the content, when the type can't be bound to or when a value doesn't fit its component or field.
+     */
+    public <T> T parseInto(String content, Class<T> type) throws OffsetConfigException {
+        return parseInto(new StringLexer(content), type);
+    }
+
+    /**
+     * Parses the config content read from the provided reader straight into a new instance of the provided record or class.
+     * The reader isn't closed.
+     *
+     * @param reader The reader to read the config content from.
+     * @param type The record or class to parse the content into.
+     * @param <T> The record or class to parse the content into.
+     * @return the read content as a new instance of the provided type.
+     * @throws OffsetConfigException when something goes wrong when parsing the content, when the type can't be bound to or when a value doesn't fit its component or field.
+     * @throws IOException when reading from the reader fails.
+     * @see #parseInto(String, Class)
+     */
+    public <T> T parseInto(Reader reader, Class<T> type) throws OffsetConfigException, IOException {
+        try {
+            return parseInto(new ReaderLexer(reader), type);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses the UTF-8 config file at the provided path straight into a new instance of the provided record or class.
+     *
+     * @param path The path of the config file.
+     * @param type The record or class to parse the content into.
+     * @param <T> The record or class to parse the content into.
+     * @return the content of the file as a new instance of the provided type.
+     * @throws OffsetConfigException when something goes wrong when parsing the content, when the type can't be bound to or when a value doesn't fit its component or field.
+     * @throws IOException when reading the file fails.
+     * @see #parseInto(String, Class)
+     */
+    public <T> T parseInto(Path path, Class<T> type) throws OffsetConfigException, IOException {
+        try (Reader reader = new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8)) {
+            return parseInto(reader, type);
+        }
+    }
+
+    private <T> T parseInto(Lexer lexer, Class<T> type) throws OffsetConfigException {
+        final TypeBinding binding = TypeBinding.of(type);
+        return type.cast(binding.bind(this, new ConfigEventReader(lexer)));
+    }
+
+    /**
+     * Parses the provided config content into a map of String key to {@link ConfigEntryWithComment} value,
+     * decoding values in parallel using the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param content The config content. Should contain line endings.
+     * @return the provided content as a map of String key to {@link ConfigEntryWithComment} value.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     * @see #parseParallel(String, ForkJoinPool)
+     */
+    public Map<String, ConfigEntryWithComment> parseParallel(String content) throws OffsetConfigException {
+        return parseParallel(content, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses the provided config content into a map of String key to {@link ConfigEntryWithComment} value,
+     * decoding values in parallel using the provided pool.
+     * <br>
+     * First the structure of the content is read in a single sequential pass,
+     * after which the values are decoded and objects deserialized on the pool.
+     * The result is the same as the one of {@link #parse(String)}, including the order of the keys.
+     * <br>
+     * Only worth it for large configs. The registered serializers need to be thread-safe.
+     *
+     * @param content The config content. Should contain line endings.
+     * @param pool The pool to decode values on.
+     * @return the provided content as a map of String key to {@link ConfigEntryWithComment} value.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     * @see #parse(String)
+     */
+    public Map<String, ConfigEntryWithComment> parseParallel(String content, ForkJoinPool pool) throws OffsetConfigException {
+        final StructuralIndex index = StructuralIndex.build(new StringLexer(content));
+        final Object[] values = new Object[index.size];
+
+        try {
+            pool.invoke(new DecodeTask(content, index, values, 0, index.size));
+        } catch (RuntimeException e) {
+            // Tasks can only throw unchecked exceptions, find the original one.
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof OffsetConfigException offsetConfigException) throw offsetConfigException;
             }
+            throw e;
+        }
+
+        final Map<String, ConfigEntryWithComment> entries = new LinkedHashMap<>(index.size);
+        for (int i = 0; i < index.size; i++) {
+            entries.put(index.keys[i], new ConfigEntryWithComment(index.comments[i], values[i]));
+        }
+
+        return entries;
+    }
 
-            // Get our indentation level.
-            final int indentLevel = getIndentation(line);
+    /**
+     * Parses the provided config content into an {@link IncrementalConfig}, which can later be updated using {@link #reparse(IncrementalConfig, TextEdit)}.
+     *
+     * @param content The config content. Should contain line endings.
+     * @return the provided content as an {@link IncrementalConfig}.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     * @see #parse(String)
+     */
+    public IncrementalConfig parseIncremental(String content) throws OffsetConfigException {
+        final StructuralIndex index = StructuralIndex.build(new StringLexer(content));
+        final Object[] values = new Object[index.size];
+        decode(content, index, values, 0, index.size);
+
+        return new IncrementalConfig(content, index, values);
+    }
 
-            // If we are on a lower level of indentation from our parent,
-            // then it isn't our parent.
-            while (!parentStack.isEmpty() && indentLevel < parentStack.size()) {
-                parentStack.pop();
+    /**
+     * Applies the provided edit to the content of the provided config and parses the result.
+     * <br>
+     * Only the top-level blocks and entries touched by the edit are parsed again,
+     * the values of all other entries are reused from the provided config.
+     * When the edit changes how the content after it is parsed, for example by leaving an array open, more is parsed until the result is the same as the one of {@link #parseIncremental(String)}.
+     *
+     * @param previous The config to edit.
+     * @param edit The edit to apply to the content of the config.
+     * @return the edited content as an {@link IncrementalConfig}.
+     * @throws OffsetConfigException when something goes wrong when parsing the edited content.
+     * @see #parseIncremental(String)
+     */
+    public IncrementalConfig reparse(IncrementalConfig previous, TextEdit edit) throws OffsetConfigException {
+        final String content = edit.apply(previous.content);
+        final StructuralIndex oldIndex = previous.index;
+
+        // The first entry of every top-level block or entry.
+        final int[] segments = new int[oldIndex.size];
+        int segmentCount = 0;
+        for (int i = 0; i < oldIndex.size; i++) {
+            if (oldIndex.depths[i] == 0) segments[segmentCount++] = i;
+        }
+
+        // Nothing to reuse.
+        if (segmentCount == 0) return parseIncremental(content);
+
+        final int editEnd = edit.offset() + edit.removedLength();
+        final int offsetDelta = edit.insertedText().length() - edit.removedLength();
+        final int lineDelta = countLines(edit.insertedText(), 0, edit.insertedText().length()) - countLines(previous.content, edit.offset(), editEnd);
+
+        int first = findSegment(previous.content, oldIndex, segments, segmentCount, edit.offset());
+        // Indented lines added before the first line of a top-level block or entry would belong to the one before it.
+        if (first > 0 && edit.offset() <= oldIndex.starts[segments[first]]) first--;
+        int last = findSegment(previous.content, oldIndex, segments, segmentCount, editEnd);
+
+        final int from = segments[first];
+        final int start = segmentStart(previous.content, oldIndex, from);
+        final int lineNumber = from == 0 ? 0 : oldIndex.endLineNumbers[from - 1] + 1;
+        final String comment = from == 0 ? "" : oldIndex.comments[from - 1];
+
+        while (true) {
+            final int to = last + 1 < segmentCount ? segments[last + 1] : oldIndex.size;
+            final int end = (to == oldIndex.size ? previous.content.length() : segmentStart(previous.content, oldIndex, to)) + offsetDelta;
+
+            // An indented first line only starts a top-level entry when nothing before it is open, after the edit it might belong to a block the edit opened.
+            // Unindented lines close every open block, so the entries starting with them are always top-level.
+            if (to != oldIndex.size && isIndented(previous.content, oldIndex.starts[to])) {
+                last++;
+                continue;
             }
 
-            // Get our key
-            String key = getKey(line);
-            if (!parentStack.isEmpty()) {
-                key = parentStack.peek() + OffsetConfig538.KEY_SEPARATOR + key;
+            final StructuralIndex region;
+            try {
+                region = StructuralIndex.build(new StringLexer(content, start, lineNumber, end), comment);
+            } catch (OffsetConfigException e) {
+                // The edit might have opened something that is only closed later in the content.
+                if (to == oldIndex.size) throw e;
+                last++;
+                continue;
             }
 
-            // Check if we are a parent and add ourselves to the parent stack.
-            if (trimmedLine.endsWith(OffsetConfig538.BLOCK_START_INDICATOR)) {
-                entries.put(key, new ConfigEntryWithComment(comment));
-                parentStack.push(key);
+            // Entries without a comment get the comment before them, so the entries after a changed comment need to be parsed again.
+            if (to != oldIndex.size && !region.endComment.equals(oldIndex.comments[to - 1])) {
+                last++;
                 continue;
             }
 
-            // Parse the value and add it to the entries map
-            Object value = parseValue(line);
-            entries.put(key, new ConfigEntryWithComment(comment, value));
-        }
+            final StructuralIndex index = oldIndex.splice(from, to, region, offsetDelta, lineDelta);
+            final Object[] values = new Object[index.size];
 
-        return entries;
+            System.arraycopy(previous.values, 0, values, 0, from);
+            decode(content, index, values, from, from + region.size);
+            System.arraycopy(previous.values, to, values, from + region.size, oldIndex.size - to);
+
+            return new IncrementalConfig(content, index, values);
+        }
     }
 
     /**
-     * Parses the provided line into an Object.
+     * Finds the top-level block or entry containing the provided offset.
      *
-     * @param line the line of config content. Should be a key-value pair
-     * @return the provided line as an Object.
-     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     * @return the index of the segment in the segments array.
      */
-    private Object parseValue(String line) throws OffsetConfigException {
-        // The value starts after the equals sign and ends at the end of the line.
-        String valueString = line.substring(
-                line.indexOf(OffsetConfig538.KEY_VALUE_DELIMITER) + 1
-        ).trim();
-
-        // String if value starts and ends with double quotes (").
-        if (valueString.startsWith("\"") && valueString.endsWith("\"")) return valueString.substring(1, valueString.length() - 1);
-        // Integer if value is a number without a decimal point.
-        if (valueString.matches("\\d+")) return Integer.parseInt(valueString);
-        // Float if value is a number with a decimal point.
-        if (valueString.matches("\\d+\\.\\d+")) return Float.parseFloat(valueString);
-        // Boolean true if value is "true".
-        if (valueString.equalsIgnoreCase("true")) return true;
-        // Boolean false if value is "false".
-        if (valueString.equalsIgnoreCase("false")) return false;
-
-
-        // Objects and arrays need to define their type.
-        if (valueString.startsWith(OffsetConfig538.TYPE_PREFIX)) {
-            // Type starts after the type prefix.
-            int typeStart = valueString.indexOf(OffsetConfig538.TYPE_PREFIX) + 1;
-            // and ends before the last character which is either
-            // a key-value delimiter or a block start indicator.
-            int typeEnd = valueString.length() - 1;
-
-            String type = valueString.substring(typeStart, typeEnd).trim();
-
-            // Array if value ends with array open.
-            if (valueString.endsWith(OffsetConfig538.ARRAY_OPEN)) return parseArray(type);
-
-            // Object if value ends with object open.
-            if (valueString.endsWith(OffsetConfig538.OBJECT_OPEN)) return parseObject(type);
-
-            throw new OffsetConfigException("Expected '%s' or '%s' at the end of '%s' at line '%s'!",
-                    OffsetConfig538.KEY_VALUE_DELIMITER,
-                    OffsetConfig538.BLOCK_START_INDICATOR,
-                    valueString,
-                    currentLineNumber
-            );
+    private static int findSegment(String content, StructuralIndex index, int[] segments, int segmentCount, int offset) {
+        int low = 1;
+        int high = segmentCount - 1;
+        int result = 0;
+
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (segmentStart(content, index, segments[middle]) <= offset) {
+                result = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
         }
 
-        throw new OffsetConfigException("Invalid value '%s' at line '%s'!", valueString, currentLineNumber);
+        return result;
     }
 
     /**
-     * Parses an array in the config into an Object array.
-     * Continues reading the config until the end of the array is reached.
+     * Gets the start of the content belonging to a top-level block or entry, including the comments and empty lines before it.
      *
-     * @param type the type of the array content.
-     * @return an Object array from the config.
-     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     * @param entry the first entry of the block or the entry.
+     * @return the line start after the end of the previous entry.
      */
-    private Object[] parseArray(String type) throws OffsetConfigException {
-        List<Object> arrayContent = new ArrayList<>();
+    private static int segmentStart(String content, StructuralIndex index, int entry) {
+        if (entry == 0) return 0;
+        return Math.min(index.ends[entry - 1] + 1, content.length());
+    }
 
-        // Increment current line as the current line
-        // contains the definition for this array.
-        currentLineNumber++;
+    private static boolean isIndented(String content, int lineStart) {
+        return lineStart < content.length() && Character.isWhitespace(content.charAt(lineStart));
+    }
 
-        for (; currentLineNumber < lines.length; currentLineNumber++) {
-            String line = lines[currentLineNumber].trim();
+    private static int countLines(String content, int start, int end) {
+        int lines = 0;
+        for (int i = start; i < end; i++) {
+            if (content.charAt(i) == '\n') lines++;
+        }
+        return lines;
+    }
 
-            // Arrays of arrays aren't supported.
-            if (line.endsWith(OffsetConfig538.ARRAY_OPEN)) throw new OffsetConfigException("Expected value of type '%s' in array at line '%s', but got another array!", type, currentLineNumber);
-            // Nesting isn't supported in arrays.
-            if (line.endsWith(OffsetConfig538.BLOCK_START_INDICATOR)) throw new OffsetConfigException("Expected value of type '%s' in array at line '%s', but got a block start!", type, currentLineNumber);
-            // Array close is the end of an array.
-            if (line.endsWith(OffsetConfig538.ARRAY_CLOSE)) break;
+    /**
+     * Parses the content of the provided lexer into a map of String key to {@link ConfigEntryWithComment} value.
+     *
+     * @param lexer The lexer to read the config content from.
+     * @return the content as a map of String key to {@link ConfigEntryWithComment} value.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     */
+    private Map<String, ConfigEntryWithComment> parse(Lexer lexer) throws OffsetConfigException {
+        final ConfigEventReader reader = new ConfigEventReader(lexer);
+        final Map<String, ConfigEntryWithComment> entries = new LinkedHashMap<>();
 
-            // Parse the value and put it into the array content.
-            arrayContent.add(parseArrayValue(line, type));
+        // Store the current parent in a stack.
+        final Stack<String> parentStack = new Stack<>();
+
+        // Store the comment
+        String comment = "";
+
+        while (reader.hasNext()) {
+            final ConfigEvent event = reader.next();
+
+            switch (event) {
+                // Store comment for later.
+                case COMMENT -> comment = reader.getComment();
+                // The parent block has ended.
+                case BLOCK_END -> parentStack.pop();
+                case BLOCK_START, ENTRY, ARRAY_START, OBJECT_START -> {
+                    // Get our key
+                    String key = reader.getKey();
+                    if (!parentStack.isEmpty()) {
+                        key = parentStack.peek() + OffsetConfig538.KEY_SEPARATOR + key;
+                    }
+
+                    // Add ourselves to the parent stack if we are a parent.
+                    if (event == ConfigEvent.BLOCK_START) {
+                        entries.put(key, new ConfigEntryWithComment(comment));
+                        parentStack.push(key);
+                        continue;
+                    }
+
+                    // Parse the value and add it to the entries map
+                    Object value = parseValue(reader);
+                    entries.put(key, new ConfigEntryWithComment(comment, value));
+                }
+                case END_DOCUMENT -> {
+                }
+                default -> throw new OffsetConfigException("Unexpected '%s' at line '%s'!", event, reader.getLineNumber());
+            }
         }
 
-        // Return the arrayContent as an array.
-        return arrayContent.toArray();
+        return entries;
     }
 
     /**
-     * Parses an array value of the provided type.
+     * Parses the value of the current {@link ConfigEvent#ENTRY}, {@link ConfigEvent#ARRAY_START} or {@link ConfigEvent#OBJECT_START} into an Object.
      *
-     * @param value The value to be parsed.
-     * @param type The type the value should be.
-     * @return the provided value as an Object.
+     * @param reader the reader to read the value from.
+     * @return the value as an Object.
      * @throws OffsetConfigException when something goes wrong when parsing the content.
      */
-    private Object parseArrayValue(String value, String type) throws OffsetConfigException {
-        // Handle array of objects
-        if (value.equals(OffsetConfig538.OBJECT_OPEN)) return parseObject(type);
-
-        if (type.equals("int")) return Integer.parseInt(value);
-        if (type.equals("float")) return Float.parseFloat(value);
-        if (type.equals("boolean")) return Boolean.parseBoolean(value);
-        if (type.equals("string")) {
-            if (value.startsWith("\"") && value.endsWith("\"")) return value.substring(1, value.length() - 1);
-            throw new OffsetConfigException("Expected double quotes (\") around string array value '%s' at line '%s'!", value, currentLineNumber);
+    Object parseValue(ConfigEventReader reader) throws OffsetConfigException {
+        return switch (reader.getEvent()) {
+            case ARRAY_START -> parseArray(reader);
+            case OBJECT_START -> parseObject(reader);
+            default -> reader.getValue();
+        };
+    }
+
+    /**
+     * Parses an array in the config into an array.
+     * Continues reading the config until the end of the array is reached.
+     * <br>
+     * Arrays of basic values are parsed into arrays of their type, like <code>int[]</code> for <code>Tint</code> arrays, without boxing the values.
+     * Arrays of objects are parsed into Object arrays.
+     *
+     * @param reader the reader positioned at the start of the array.
+     * @return an array from the config.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     */
+    private Object parseArray(ConfigEventReader reader) throws OffsetConfigException {
+        switch (reader.getType()) {
+            case "int" -> {
+                return reader.readIntArray();
+            }
+            case "long" -> {
+                return reader.readLongArray();
+            }
+            case "float" -> {
+                return reader.readFloatArray();
+            }
+            case "double" -> {
+                return reader.readDoubleArray();
+            }
+            case "boolean" -> {
+                return reader.readBooleanArray();
+            }
+            case "string" -> {
+                return reader.readStringArray();
+            }
+        }
+
+        List<Object> arrayContent = new ArrayList<>();
+
+        while (true) {
+            final ConfigEvent event = reader.next();
+
+            // Array close is the end of an array.
+            if (event == ConfigEvent.ARRAY_END) break;
+
+            // Parse the value and put it into the array content.
+            if (event == ConfigEvent.VALUE) arrayContent.add(reader.getValue());
+            else if (event == ConfigEvent.OBJECT_START) arrayContent.add(parseObject(reader));
         }
 
-        throw new OffsetConfigException("Invalid value '%s' in array at line '%s'!", value, currentLineNumber);
+        // Return the arrayContent as an array.
+        return arrayContent.toArray();
     }
 
     /**
      * Parses an object in the config into an Object.
      * Continues reading the config until the end of the object is reached.
      *
-     * @param type the type of the object.
+     * @param reader the reader positioned at the start of the object.
      * @return an Object from the config.
      * @throws OffsetConfigException when something goes wrong when parsing the content.
      */
-    private Object parseObject(String type) throws OffsetConfigException {
-        Map<String, Object> objectContent = new LinkedHashMap<>();
+    private Object parseObject(ConfigEventReader reader) throws OffsetConfigException {
+        final String type = reader.getType();
+
+        // Get the serializer for the type.
+        OffsetConfigSerializer<?> serializer = offsetConfig538.getSerializerByType(type);
+
+        // Stream serializers read the values straight from the reader.
+        if (serializer instanceof OffsetConfigStreamSerializer<?> streamSerializer) {
+            final StreamObjectReader objectReader = new StreamObjectReader(this, reader);
+            final Object value = streamSerializer.read(objectReader);
+            objectReader.finish();
+            return value;
+        }
 
-        // Increment current line as we don't want to
-        // continuously parse this object and get a stack overflow.
-        currentLineNumber++;
+        Map<String, Object> objectContent = new LinkedHashMap<>();
 
-        for (; currentLineNumber < lines.length; currentLineNumber++) {
-            String line = lines[currentLineNumber].trim();
+        while (true) {
+            final ConfigEvent event = reader.next();
 
             // The object is finished when we encounter
             // an equal number of open and close characters.
-            if (line.endsWith(OffsetConfig538.OBJECT_CLOSE)) break;
-
-            // Nesting isn't supported in objects.
-            if (line.endsWith(OffsetConfig538.BLOCK_START_INDICATOR)) throw new OffsetConfigException("Expected value of type '%s' in object at line '%s', but got a block start!", type, currentLineNumber);
+            if (event == ConfigEvent.OBJECT_END) break;
 
-            // Skip array and object endings as those aren't values.
-            if (line.endsWith(OffsetConfig538.ARRAY_CLOSE)) continue;
+            // Skip comments as objects can't store them.
+            if (event == ConfigEvent.COMMENT) continue;
 
             // Parse the value.
-            String key = getKey(line);
-            Object value = parseValue(line);
-
-            objectContent.put(key, value);
+            objectContent.put(reader.getKey(), parseValue(reader));
         }
 
-        // Get the serializer for the type.
-        OffsetConfigSerializer<?> serializer = offsetConfig538.getSerializerByType(type);
-
         // Check if the serializer wasn't found and throw an error.
         if (serializer == null) throw new OffsetConfigException("No deserializer found for type '%s'!", type);
 
@@ -266,36 +650,67 @@ public class Parser {
     }
 
     /**
-     * Gets the indentation of the provided line.
+     * Decodes the values of a range of entries in a {@link StructuralIndex} on the current thread.
      *
-     * @param line The line to get the indentation of.
-     * @return The indentation level of the provided line.
+     * @param content the content the index was built from.
+     * @param index the index of the content.
+     * @param values the array to put the values into, at the same indices as the entries.
+     * @param from the first entry to decode, inclusive.
+     * @param to the last entry to decode, exclusive.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
      */
-    private int getIndentation(String line) {
-        int amountOfSpaces = line.length() - line.stripLeading().length();
-        return amountOfSpaces / OffsetConfig538.INDENTATION_SIZE;
+    private void decode(String content, StructuralIndex index, Object[] values, int from, int to) throws OffsetConfigException {
+        final ConfigEventReader reader = new ConfigEventReader(new StringLexer(content));
+
+        for (int i = from; i < to; i++) {
+            if (index.kinds[i] == StructuralIndex.BLOCK) continue;
+
+            // Read the entry again, starting from its line.
+            reader.seek(index.starts[i], index.lineNumbers[i]);
+            reader.next();
+            values[i] = parseValue(reader);
+        }
     }
 
     /**
-     * Gets the key of the provided line.
-     *
-     * @param line The line to get the key of.
-     * @return The key of the line.
-     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     * Decodes the values of a range of entries in a {@link StructuralIndex}, splitting it in half while it's large.
      */
-    private String getKey(String line) throws OffsetConfigException {
-        // The end of the key is either a key-value
-        // delimiter or a block start indicator.
-        int keyEnd = line.indexOf(OffsetConfig538.KEY_VALUE_DELIMITER);
-        if (keyEnd == -1) keyEnd = line.indexOf(OffsetConfig538.BLOCK_START_INDICATOR);
-
-        if (keyEnd == -1)
-            throw new OffsetConfigException("Expected '%s' or '%s' in '%s' at line '%s'!", OffsetConfig538.KEY_VALUE_DELIMITER, OffsetConfig538.BLOCK_START_INDICATOR, line, currentLineNumber);
+    private final class DecodeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // Ranges with less content than this are decoded on the current thread.
+        private static final int SPLIT_THRESHOLD = 16 * 1024;
+
+        private final String content;
+        private final StructuralIndex index;
+        private final Object[] values;
+        private final int from;
+        private final int to;
+
+        private DecodeTask(String content, StructuralIndex index, Object[] values, int from, int to) {
+            this.content = content;
+            this.index = index;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
 
-        String key = line.substring(0, keyEnd).trim();
-        if (key.equals(""))
-            throw new OffsetConfigException("Expected key in '%s' at line '%s'!", line, currentLineNumber);
+        @Override
+        protected void compute() {
+            if (to - from > 1 && index.starts[to - 1] - index.starts[from] > SPLIT_THRESHOLD) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(
+                        new DecodeTask(content, index, values, from, middle),
+                        new DecodeTask(content, index, values, middle, to)
+                );
+                return;
+            }
 
-        return key;
+            try {
+                decode(content, index, values, from, to);
+            } catch (OffsetConfigException e) {
+                throw new CompletionException(e);
+            }
+        }
     }
 }
@@ -0,0 +1,95 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * A {@link Lexer} reading from a {@link Reader} through a bounded buffer.
+ * <br>
+ * Only the current line is kept in the buffer, so it never grows bigger than the longest line.
+ */
+final class ReaderLexer extends Lexer {
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private char[] buffer = new char[DEFAULT_BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+
+    /**
+     * Constructs a new ReaderLexer.
+     *
+     * @param reader The reader to read the content from. Isn't closed by the lexer.
+     */
+    ReaderLexer(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    protected boolean readLine() {
+        int searchStart = position;
+
+        while (true) {
+            for (int i = searchStart; i < limit; i++) {
+                if (buffer[i] != '\n') continue;
+
+                lineStart = position;
+                lineEnd = i;
+                position = i + 1;
+                return true;
+            }
+
+            if (endOfInput) {
+                // The last line doesn't have to end with a line ending.
+                if (position >= limit) return false;
+
+                lineStart = position;
+                lineEnd = limit;
+                position = limit;
+                return true;
+            }
+
+            // Everything read so far was searched already, continue after it once the buffer is filled.
+            searchStart = limit - position;
+            fill();
+        }
+    }
+
+    /**
+     * Moves the unfinished line to the start of the buffer and reads more content after it.
+     * The buffer is only grown when a single line doesn't fit into it.
+     */
+    private void fill() {
+        final int remaining = limit - position;
+
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+            position = 0;
+            limit = remaining;
+        } else if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        try {
+            final int read = reader.read(buffer, limit, buffer.length - limit);
+
+            if (read == -1) endOfInput = true;
+            else limit += read;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    char charAt(int index) {
+        return buffer[index];
+    }
+
+    @Override
+    String text(int start, int end) {
+        return new String(buffer, start, end - start);
+    }
+}
@@ -0,0 +1,295 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+/**
+ * Classifies basic values in a single pass over their characters.
+ * <br>
+ * While classifying, numbers are accumulated into a long, so most of them can be
+ * decoded later without looking at the characters again.
+ * <br>
+ * Supported values are:
+ * <ul>
+ *     <li>Strings surrounded by double quotes (<code>"Hello"</code>).</li>
+ *     <li>Booleans (<code>true</code> and <code>false</code>, case-insensitive).</li>
+ *     <li>Integers (<code>1234</code>, <code>-1234</code>). Longs have the suffix <code>L</code> or don't fit into an int.</li>
+ *     <li>Floats (<code>12.34</code>, <code>-1.5E10</code>). Doubles have the suffix <code>D</code>.</li>
+ * </ul>
+ */
+final class ScalarScanner {
+    private static final float[] FLOAT_POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * The types of basic values.
+     */
+    enum Type {
+        STRING, BOOLEAN, INT, LONG, FLOAT, DOUBLE;
+
+        /**
+         * @return if this is one of the number types.
+         */
+        boolean isNumber() {
+            return this != STRING && this != BOOLEAN;
+        }
+    }
+
+    /**
+     * The type of the last scanned value.
+     */
+    Type type;
+
+    private int start;
+    private int end;
+    private boolean negative;
+    // All digits of a number without the decimal point. 1 for true and 0 for false.
+    private long mantissa;
+    private int fractionDigits;
+    // If the number can be decoded from the mantissa and fraction digits.
+    private boolean exact;
+
+    /**
+     * Classifies the value between the provided indices.
+     *
+     * @param lexer the lexer containing the value.
+     * @param start the start of the value, inclusive.
+     * @param end the end of the value, exclusive.
+     * @return false if the value isn't a basic value.
+     */
+    boolean scan(Lexer lexer, int start, int end) {
+        this.start = start;
+        this.end = end;
+        if (start >= end) return false;
+
+        final char first = lexer.charAt(start);
+
+        // String if value starts and ends with double quotes (").
+        if (first == '"') {
+            type = Type.STRING;
+            return end - start > 1 && lexer.charAt(end - 1) == '"';
+        }
+
+        // Boolean if value is "true" or "false".
+        if (matchesIgnoreCase(lexer, start, end, "true")) {
+            type = Type.BOOLEAN;
+            mantissa = 1;
+            return true;
+        }
+        if (matchesIgnoreCase(lexer, start, end, "false")) {
+            type = Type.BOOLEAN;
+            mantissa = 0;
+            return true;
+        }
+
+        return scanNumber(lexer, start, end);
+    }
+
+    private boolean scanNumber(Lexer lexer, int start, int end) {
+        int i = start;
+
+        negative = lexer.charAt(i) == '-';
+        if (negative) i++;
+
+        mantissa = 0;
+        fractionDigits = 0;
+        boolean overflow = false;
+
+        // Integer part
+        final int integerStart = i;
+        for (char c; i < end && (c = lexer.charAt(i)) >= '0' && c <= '9'; i++) {
+            if (overflow) continue;
+            final int digit = c - '0';
+
+            if (fits(digit)) mantissa = mantissa * 10 + digit;
+            // The magnitude of Long.MIN_VALUE doesn't fit into a long, but wraps around to Long.MIN_VALUE itself, which negates to the right value.
+            else if (negative && mantissa == Long.MAX_VALUE / 10 && digit == 8) mantissa = Long.MIN_VALUE;
+            else overflow = true;
+        }
+        if (i == integerStart) return false;
+
+        // Fraction part
+        boolean decimal = false;
+        if (i < end && lexer.charAt(i) == '.') {
+            decimal = true;
+            i++;
+
+            final int fractionStart = i;
+            for (char c; i < end && (c = lexer.charAt(i)) >= '0' && c <= '9'; i++) {
+                if (overflow) continue;
+                final int digit = c - '0';
+
+                if (fits(digit)) mantissa = mantissa * 10 + digit;
+                else overflow = true;
+            }
+            if (i == fractionStart) return false;
+            fractionDigits = i - fractionStart;
+        }
+
+        // Exponent
+        boolean exponent = false;
+        if (i < end && (lexer.charAt(i) == 'e' || lexer.charAt(i) == 'E')) {
+            exponent = true;
+            i++;
+            if (i < end && (lexer.charAt(i) == '-' || lexer.charAt(i) == '+')) i++;
+
+            final int exponentStart = i;
+            for (char c; i < end && (c = lexer.charAt(i)) >= '0' && c <= '9'; i++);
+            if (i == exponentStart) return false;
+        }
+
+        // Suffix
+        char suffix = 0;
+        if (i < end) suffix = Character.toUpperCase(lexer.charAt(i++));
+        if (i != end || (suffix != 0 && suffix != 'L' && suffix != 'F' && suffix != 'D')) return false;
+
+        exact = !overflow && !exponent;
+
+        if (suffix == 'D') {
+            type = Type.DOUBLE;
+            return true;
+        }
+        if (suffix == 'F' || decimal || exponent) {
+            type = Type.FLOAT;
+            return suffix != 'L';
+        }
+
+        // Integers can't be decoded from anything other than the mantissa.
+        if (overflow) return false;
+
+        type = suffix == 'L' || mantissa < 0 || mantissa > Integer.MAX_VALUE + (negative ? 1L : 0L) ? Type.LONG : Type.INT;
+        return true;
+    }
+
+    /**
+     * @return if appending the provided digit to the mantissa still fits into a long.
+     */
+    private boolean fits(int digit) {
+        // A negative mantissa already holds the magnitude of Long.MIN_VALUE.
+        return mantissa >= 0 && mantissa <= (Long.MAX_VALUE - digit) / 10;
+    }
+
+    private static boolean matchesIgnoreCase(Lexer lexer, int start, int end, String expected) {
+        if (end - start != expected.length()) return false;
+
+        for (int i = 0; i < expected.length(); i++) {
+            if (Character.toLowerCase(lexer.charAt(start + i)) != expected.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the last scanned value can be used as the provided type.
+     * <br>
+     * Integers can be used as longs, floats and doubles, longs as floats and doubles and floats as doubles.
+     *
+     * @param target the type the value should be used as.
+     * @return if the value can be used as the provided type.
+     */
+    boolean isCompatibleWith(Type target) {
+        if (type == target) return true;
+        if (!type.isNumber() || !target.isNumber()) return false;
+        return target.ordinal() > type.ordinal() && (target != Type.LONG || type == Type.INT);
+    }
+
+    /**
+     * @return the last scanned value as an int.
+     */
+    int intValue() {
+        return (int) longValue();
+    }
+
+    /**
+     * @return the last scanned value as a long.
+     */
+    long longValue() {
+        return negative ? -mantissa : mantissa;
+    }
+
+    /**
+     * @param lexer the lexer containing the value.
+     * @return the last scanned value as a float.
+     */
+    float floatValue(Lexer lexer) {
+        if (exact) {
+            if (fractionDigits == 0) return longValue();
+
+            // Both numbers are exactly representable as floats, so the division is correctly rounded.
+            if (mantissa < 1 << 24 && fractionDigits < FLOAT_POWERS_OF_TEN.length) {
+                final float value = mantissa / FLOAT_POWERS_OF_TEN[fractionDigits];
+                return negative ? -value : value;
+            }
+        }
+
+        return Float.parseFloat(lexer.text(start, end));
+    }
+
+    /**
+     * @param lexer the lexer containing the value.
+     * @return the last scanned value as a double.
+     */
+    double doubleValue(Lexer lexer) {
+        if (exact) {
+            if (fractionDigits == 0) return longValue();
+
+            // Both numbers are exactly representable as doubles, so the division is correctly rounded.
+            if (mantissa < 1L << 53 && fractionDigits < DOUBLE_POWERS_OF_TEN.length) {
+                final double value = mantissa / DOUBLE_POWERS_OF_TEN[fractionDigits];
+                return negative ? -value : value;
+            }
+        }
+
+        return Double.parseDouble(lexer.text(start, end));
+    }
+
+    /**
+     * @return the last scanned value as a boolean.
+     */
+    boolean booleanValue() {
+        return mantissa != 0;
+    }
+
+    /**
+     * @param lexer the lexer containing the value.
+     * @return the last scanned value as a String, without the double quotes.
+     */
+    String stringValue(Lexer lexer) {
+        return lexer.text(start + 1, end - 1);
+    }
+
+    /**
+     * Decodes the last scanned value as the provided type.
+     *
+     * @param lexer the lexer containing the value.
+     * @param type the type to decode the value as. Should be compatible with the value.
+     * @return the last scanned value boxed into the class matching the provided type.
+     */
+    Object toObject(Lexer lexer, Type type) {
+        return switch (type) {
+            case STRING -> stringValue(lexer);
+            case BOOLEAN -> booleanValue();
+            case INT -> intValue();
+            case LONG -> longValue();
+            case FLOAT -> floatValue(lexer);
+            case DOUBLE -> doubleValue(lexer);
+        };
+    }
+
+    /**
+     * Gets the type matching the name of the provided array type.
+     *
+     * @param arrayType the type of an array.
+     * @return the type matching the provided array type or null if the array contains objects.
+     */
+    static Type forArrayType(String arrayType) {
+        return switch (arrayType) {
+            case "string" -> Type.STRING;
+            case "boolean" -> Type.BOOLEAN;
+            case "int" -> Type.INT;
+            case "long" -> Type.LONG;
+            case "float" -> Type.FLOAT;
+            case "double" -> Type.DOUBLE;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,261 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+import top.offsetmonkey538.offsetconfig538.serialization.ConfigObjectReader;
+import top.offsetmonkey538.offsetconfig538.serialization.MapObjectReader;
+import top.offsetmonkey538.offsetconfig538.util.ArrayUtils;
+
+/**
+ * Reads the values of an object straight from a {@link ConfigEventReader}, for an {@link top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigStreamSerializer}.
+ * <br>
+ * Values read in the order they are in the content are decoded straight from it. Values that are skipped
+ * to find a later key are parsed into a map, which the values are read from when they are requested later.
+ * Values decoded straight from the content aren't stored, only their keys are, so {@link #has(String)} still finds them,
+ * but reading one of them again throws an exception.
+ */
+final class StreamObjectReader implements ConfigObjectReader {
+    private static final MapObjectReader EMPTY = new MapObjectReader(Collections.emptyMap());
+    private static final String[] NO_KEYS = new String[0];
+
+    private final Parser parser;
+    private final ConfigEventReader reader;
+    // Created when a value is skipped.
+    private Map<String, Object> skipped;
+    private MapObjectReader skippedReader = EMPTY;
+    // Keys of the values decoded straight from the content, in the order they were read.
+    private String[] readKeys = NO_KEYS;
+    private int readCount;
+    // If the current event is a value that wasn't read yet.
+    private boolean pending;
+    private boolean ended;
+
+    /**
+     * @param parser the parser to parse skipped values with.
+     * @param reader the reader positioned at the start of the object.
+     */
+    StreamObjectReader(Parser parser, ConfigEventReader reader) {
+        this.parser = parser;
+        this.reader = reader;
+    }
+
+    /**
+     * Moves to the value with the provided key, skipping the values before it.
+     *
+     * @param key the key of the value.
+     * @return true if the current event is the value with the provided key, false if it was skipped before or is missing.
+     * @throws OffsetConfigException when something goes wrong when parsing the content or the value was already read.
+     */
+    private boolean seek(String key) throws OffsetConfigException {
+        if (pending) {
+            if (key.equals(reader.getKey())) return true;
+            skip();
+        }
+        if (wasRead(key)) throw new OffsetConfigException("Value of key '%s' was already read!", key);
+        if (skipped != null && skipped.containsKey(key)) return false;
+
+        while (!ended) {
+            final ConfigEvent event = reader.next();
+
+            // The object is finished when we encounter
+            // an equal number of open and close characters.
+            if (event == ConfigEvent.OBJECT_END) {
+                ended = true;
+                break;
+            }
+
+            // Skip comments as objects can't store them.
+            if (event == ConfigEvent.COMMENT) continue;
+
+            pending = true;
+            if (key.equals(reader.getKey())) return true;
+            skip();
+        }
+
+        return false;
+    }
+
+    private void skip() throws OffsetConfigException {
+        if (skipped == null) {
+            skipped = new HashMap<>();
+            skippedReader = new MapObjectReader(skipped);
+        }
+
+        skipped.put(reader.getKey(), parser.parseValue(reader));
+        pending = false;
+    }
+
+    /**
+     * Marks the current value as read.
+     *
+     * @param key the key of the current value.
+     */
+    private void markRead(String key) {
+        if (readCount == readKeys.length) readKeys = Arrays.copyOf(readKeys, Math.max(8, readCount * 2));
+
+        readKeys[readCount++] = key;
+        pending = false;
+    }
+
+    private boolean wasRead(String key) {
+        for (int i = 0; i < readCount; i++) {
+            if (readKeys[i].equals(key)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skips the values that weren't read, so the current event is the end of the object.
+     *
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     */
+    void finish() throws OffsetConfigException {
+        if (pending) reader.skipChildren();
+        pending = false;
+
+        while (!ended) {
+            final ConfigEvent event = reader.next();
+
+            if (event == ConfigEvent.OBJECT_END) ended = true;
+            else reader.skipChildren();
+        }
+    }
+
+    @Override
+    public boolean has(String key) throws OffsetConfigException {
+        return wasRead(key) || seek(key) || skippedReader.has(key);
+    }
+
+    @Override
+    public String readString(String key) throws OffsetConfigException {
+        if (!seek(key)) return skippedReader.readString(key);
+
+        final String value = reader.getStringValue();
+        markRead(key);
+        return value;
+    }
+
+    @Override
+    public boolean readBoolean(String key) throws OffsetConfigException {
+        if (!seek(key)) return skippedReader.readBoolean(key);
+
+        final boolean value = reader.getBooleanValue();
+        markRead(key);
+        return value;
+    }
+
+    @Override
+    public int readInt(String key) throws OffsetConfigException {
+        if (!seek(key)) return skippedReader.readInt(key);
+
+        final int value = reader.getIntValue();
+        markRead(key);
+        return value;
+    }
+
+    @Override
+    public long readLong(String key) throws OffsetConfigException {
+        if (!seek(key)) return skippedReader.readLong(key);
+
+        final long value = reader.getLongValue();
+        markRead(key);
+        return value;
+    }
+
+    @Override
+    public float readFloat(String key) throws OffsetConfigException {
+        if (!seek(key)) return skippedReader.readFloat(key);
+
+        final float value = reader.getFloatValue();
+        markRead(key);
+        return value;
+    }
+
+    @Override
+    public double readDouble(String key) throws OffsetConfigException {
+        if (!seek(key)) return skippedReader.readDouble(key);
+
+        final double value = reader.getDoubleValue();
+        markRead(key);
+        return value;
+    }
+
+    @Override
+    public int[] readIntArray(String key) throws OffsetConfigException {
+        if (!seek(key)) return skippedReader.readIntArray(key);
+
+        final int[] value = reader.readIntArray();
+        markRead(key);
+        return value;
+    }
+
+    @Override
+    public long[] readLongArray(String key) throws OffsetConfigException {
+        if (!seek(key)) return skippedReader.readLongArray(key);
+
+        final long[] value = reader.readLongArray();
+        markRead(key);
+        return value;
+    }
+
+    @Override
+    public float[] readFloatArray(String key) throws OffsetConfigException {
+        if (!seek(key)) return skippedReader.readFloatArray(key);
+
+        final float[] value = reader.readFloatArray();
+        markRead(key);
+        return value;
+    }
+
+    @Override
+    public double[] readDoubleArray(String key) throws OffsetConfigException {
+        if (!seek(key)) return skippedReader.readDoubleArray(key);
+
+        final double[] value = reader.readDoubleArray();
+        markRead(key);
+        return value;
+    }
+
+    @Override
+    public boolean[] readBooleanArray(String key) throws OffsetConfigException {
+        if (!seek(key)) return skippedReader.readBooleanArray(key);
+
+        final boolean[] value = reader.readBooleanArray();
+        markRead(key);
+        return value;
+    }
+
+    @Override
+    public <E> E[] readArray(String key, Class<E> elementType) throws OffsetConfigException {
+        if (!seek(key)) return skippedReader.readArray(key, elementType);
+        if (reader.getEvent() != ConfigEvent.ARRAY_START) throw new OffsetConfigException("Expected value of key '%s' at line '%s' to be an array, but got '%s'!", key, reader.getLineNumber(), reader.getEvent());
+
+        final Object value = readValue(key);
+        try {
+            return ArrayUtils.castTo(value, elementType);
+        } catch (ArrayStoreException e) {
+            throw new OffsetConfigException("Expected value of key '%s' to be an array of '%s', but got '%s'!", key, elementType.getName(), value);
+        }
+    }
+
+    @Override
+    public <V> V readObject(String key, Class<V> type) throws OffsetConfigException {
+        if (!seek(key)) return skippedReader.readObject(key, type);
+
+        final Object value = readValue(key);
+        if (type.isInstance(value)) return type.cast(value);
+        throw new OffsetConfigException("Expected value of key '%s' to be of type '%s', but got '%s'!", key, type.getName(), value);
+    }
+
+    @Override
+    public Object readValue(String key) throws OffsetConfigException {
+        if (!seek(key)) return skippedReader.readValue(key);
+
+        final Object value = parser.parseValue(reader);
+        markRead(key);
+        return value;
+    }
+}
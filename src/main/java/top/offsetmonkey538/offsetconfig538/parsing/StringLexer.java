@@ -0,0 +1,72 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+/**
+ * A {@link Lexer} reading from a String that's already in memory.
+ */
+final class StringLexer extends Lexer {
+    private final String content;
+    private final int limit;
+    private int position;
+
+    /**
+     * Constructs a new StringLexer.
+     *
+     * @param content The content to tokenize.
+     */
+    StringLexer(String content) {
+        this(content, 0, 0, content.length());
+    }
+
+    /**
+     * Constructs a new StringLexer starting in the middle of the provided content.
+     *
+     * @param content The content to tokenize.
+     * @param position The start of the first line to read.
+     * @param lineNumber The number of the first line to read.
+     */
+    StringLexer(String content, int position, int lineNumber) {
+        this(content, position, lineNumber, content.length());
+    }
+
+    /**
+     * Constructs a new StringLexer reading only a part of the provided content.
+     *
+     * @param content The content to tokenize.
+     * @param position The start of the first line to read.
+     * @param lineNumber The number of the first line to read.
+     * @param limit The end of the part to read. Content after it is treated as if it didn't exist.
+     */
+    StringLexer(String content, int position, int lineNumber, int limit) {
+        this.content = content;
+        this.limit = limit;
+        seek(position, lineNumber);
+    }
+
+    @Override
+    void seek(int position, int lineNumber) {
+        this.position = position;
+        this.lineNumber = lineNumber - 1;
+    }
+
+    @Override
+    protected boolean readLine() {
+        if (position >= limit) return false;
+
+        lineStart = position;
+        lineEnd = content.indexOf('\n', position);
+        if (lineEnd == -1 || lineEnd > limit) lineEnd = limit;
+        position = lineEnd + 1;
+
+        return true;
+    }
+
+    @Override
+    char charAt(int index) {
+        return content.charAt(index);
+    }
+
+    @Override
+    String text(int start, int end) {
+        return content.substring(start, end);
+    }
+}
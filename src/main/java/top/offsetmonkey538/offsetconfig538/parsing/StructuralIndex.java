@@ -0,0 +1,220 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+import java.util.Arrays;
+import java.util.Stack;
+import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+/**
+ * The structure of OffsetConfig content: where every block and entry is, without any decoded values.
+ * <br>
+ * Built in a single sequential pass that only looks at keys, indentation and the start and end of arrays and objects.
+ * Values can then be decoded independently of each other by reading the content again from the start of their entry.
+ */
+final class StructuralIndex {
+    /**
+     * A block start. Doesn't have a value.
+     */
+    static final byte BLOCK = 0;
+    /**
+     * A key-value pair with a basic value.
+     */
+    static final byte VALUE = 1;
+    /**
+     * A key-value pair with an array value.
+     */
+    static final byte ARRAY = 2;
+    /**
+     * A key-value pair with an object value.
+     */
+    static final byte OBJECT = 3;
+
+    /**
+     * The number of entries.
+     */
+    int size;
+    /**
+     * The full key of each entry.
+     */
+    String[] keys = new String[16];
+    /**
+     * The comment of each entry.
+     */
+    String[] comments = new String[16];
+    /**
+     * The kind of each entry, one of {@link #BLOCK}, {@link #VALUE}, {@link #ARRAY} or {@link #OBJECT}.
+     */
+    byte[] kinds = new byte[16];
+    /**
+     * The number of blocks each entry is in.
+     */
+    int[] depths = new int[16];
+    /**
+     * The number of the first line of each entry.
+     */
+    int[] lineNumbers = new int[16];
+    /**
+     * The offset of the first line of each entry.
+     */
+    int[] starts = new int[16];
+    /**
+     * The end of the last line of each entry, excluding the line ending.
+     * For arrays and objects this is the line closing them and for blocks the end of their last child.
+     */
+    int[] ends = new int[16];
+    /**
+     * The number of the last line of each entry.
+     */
+    int[] endLineNumbers = new int[16];
+    /**
+     * The last comment before the end of the content.
+     * Entries without a comment get the comment before them, so this is the comment the next entry would get.
+     */
+    String endComment;
+
+    private StructuralIndex() {
+
+    }
+
+    /**
+     * Builds the index for the content of the provided lexer.
+     *
+     * @param lexer the lexer to read the content from.
+     * @return the index for the content.
+     * @throws OffsetConfigException when something goes wrong when parsing the structure of the content.
+     */
+    static StructuralIndex build(Lexer lexer) throws OffsetConfigException {
+        return build(lexer, "");
+    }
+
+    /**
+     * Builds the index for the content of the provided lexer.
+     *
+     * @param lexer the lexer to read the content from.
+     * @param comment the comment in effect before the content. Given to entries until the content contains a comment.
+     * @return the index for the content.
+     * @throws OffsetConfigException when something goes wrong when parsing the structure of the content.
+     */
+    static StructuralIndex build(Lexer lexer, String comment) throws OffsetConfigException {
+        final StructuralIndex index = new StructuralIndex();
+        final ConfigEventReader reader = new ConfigEventReader(lexer, true);
+
+        // Store the current parent in a stack.
+        final Stack<Integer> parentStack = new Stack<>();
+
+        while (reader.hasNext()) {
+            final ConfigEvent event = reader.next();
+
+            switch (event) {
+                // Store comment for later.
+                case COMMENT -> comment = reader.getComment();
+                // The parent block has ended with its last child.
+                case BLOCK_END -> {
+                    final int parent = parentStack.pop();
+                    if (index.size - 1 > parent) {
+                        index.ends[parent] = index.ends[index.size - 1];
+                        index.endLineNumbers[parent] = index.endLineNumbers[index.size - 1];
+                    }
+                }
+                case BLOCK_START, ENTRY, ARRAY_START, OBJECT_START -> {
+                    // Get our key
+                    String key = reader.getKey();
+                    if (!parentStack.isEmpty()) {
+                        key = index.keys[parentStack.peek()] + OffsetConfig538.KEY_SEPARATOR + key;
+                    }
+
+                    final int entry = index.add(key, comment, kindOf(event), parentStack.size(), reader.getLineNumber(), reader.getLineStart());
+
+                    // Add ourselves to the parent stack if we are a parent.
+                    if (event == ConfigEvent.BLOCK_START) parentStack.push(entry);
+
+                    // Skip over arrays and objects and end at their last line.
+                    reader.skipChildren();
+                    index.ends[entry] = reader.getLineEnd();
+                    index.endLineNumbers[entry] = reader.getLineNumber();
+                }
+                case END_DOCUMENT -> {
+                }
+                default -> throw new OffsetConfigException("Unexpected '%s' at line '%s'!", event, reader.getLineNumber());
+            }
+        }
+
+        index.endComment = comment;
+        return index;
+    }
+
+    private static byte kindOf(ConfigEvent event) {
+        return switch (event) {
+            case BLOCK_START -> BLOCK;
+            case ARRAY_START -> ARRAY;
+            case OBJECT_START -> OBJECT;
+            default -> VALUE;
+        };
+    }
+
+    private int add(String key, String comment, byte kind, int depth, int lineNumber, int start) {
+        if (size == keys.length) grow(size * 2);
+
+        keys[size] = key;
+        comments[size] = comment;
+        kinds[size] = kind;
+        depths[size] = depth;
+        lineNumbers[size] = lineNumber;
+        starts[size] = start;
+        return size++;
+    }
+
+    /**
+     * Replaces the entries between the provided indices with the entries of the provided index.
+     * The entries after the replaced ones are moved by the provided amount of characters and lines.
+     *
+     * @param from the first entry to replace, inclusive.
+     * @param to the last entry to replace, exclusive.
+     * @param replacement the index containing the new entries.
+     * @param offsetDelta the amount of characters to move the entries after the replaced ones by.
+     * @param lineDelta the amount of lines to move the entries after the replaced ones by.
+     * @return a new index with the replaced entries.
+     */
+    StructuralIndex splice(int from, int to, StructuralIndex replacement, int offsetDelta, int lineDelta) {
+        final StructuralIndex result = new StructuralIndex();
+        final int tail = size - to;
+        result.grow(Math.max(16, from + replacement.size + tail));
+
+        copy(this, 0, result, 0, from);
+        copy(replacement, 0, result, from, replacement.size);
+        copy(this, to, result, from + replacement.size, tail);
+
+        for (int i = from + replacement.size; i < from + replacement.size + tail; i++) {
+            result.starts[i] += offsetDelta;
+            result.ends[i] += offsetDelta;
+            result.lineNumbers[i] += lineDelta;
+            result.endLineNumbers[i] += lineDelta;
+        }
+
+        result.size = from + replacement.size + tail;
+        result.endComment = tail == 0 ? replacement.endComment : endComment;
+        return result;
+    }
+
+    private static void copy(StructuralIndex source, int sourceFrom, StructuralIndex target, int targetFrom, int length) {
+        System.arraycopy(source.keys, sourceFrom, target.keys, targetFrom, length);
+        System.arraycopy(source.comments, sourceFrom, target.comments, targetFrom, length);
+        System.arraycopy(source.kinds, sourceFrom, target.kinds, targetFrom, length);
+        System.arraycopy(source.depths, sourceFrom, target.depths, targetFrom, length);
+        System.arraycopy(source.lineNumbers, sourceFrom, target.lineNumbers, targetFrom, length);
+        System.arraycopy(source.starts, sourceFrom, target.starts, targetFrom, length);
+        System.arraycopy(source.ends, sourceFrom, target.ends, targetFrom, length);
+        System.arraycopy(source.endLineNumbers, sourceFrom, target.endLineNumbers, targetFrom, length);
+    }
+
+    private void grow(int newLength) {
+        keys = Arrays.copyOf(keys, newLength);
+        comments = Arrays.copyOf(comments, newLength);
+        kinds = Arrays.copyOf(kinds, newLength);
+        depths = Arrays.copyOf(depths, newLength);
+        lineNumbers = Arrays.copyOf(lineNumbers, newLength);
+        starts = Arrays.copyOf(starts, newLength);
+        ends = Arrays.copyOf(ends, newLength);
+        endLineNumbers = Arrays.copyOf(endLineNumbers, newLength);
+    }
+}
@@ -0,0 +1,39 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+/**
+ * A single change to config content: some characters replaced with new text.
+ * <br>
+ * Used to re-parse only the changed part of the content with {@link Parser#reparse(IncrementalConfig, TextEdit)}.
+ *
+ * @param offset The offset of the first changed character in the old content.
+ * @param removedLength The number of characters removed from the old content, starting at the offset.
+ * @param insertedText The text inserted at the offset.
+ */
+public record TextEdit(int offset, int removedLength, String insertedText) {
+
+    /**
+     * Constructs a new TextEdit.
+     *
+     * @param offset The offset of the first changed character in the old content.
+     * @param removedLength The number of characters removed from the old content, starting at the offset.
+     * @param insertedText The text inserted at the offset.
+     */
+    public TextEdit {
+        if (offset < 0) throw new IllegalArgumentException("Offset can't be negative!");
+        if (removedLength < 0) throw new IllegalArgumentException("Removed length can't be negative!");
+        if (insertedText == null) throw new IllegalArgumentException("Inserted text can't be null!");
+    }
+
+    /**
+     * Applies this edit to the provided content.
+     *
+     * @param content The content to edit.
+     * @return the edited content.
+     * @throws IndexOutOfBoundsException when the edit is outside the provided content.
+     */
+    public String apply(String content) {
+        if (offset + removedLength > content.length()) throw new IndexOutOfBoundsException(String.format("Edit of '%s' characters at offset '%s' is outside the content of length '%s'!", removedLength, offset, content.length()));
+
+        return content.substring(0, offset) + insertedText + content.substring(offset + removedLength);
+    }
+}
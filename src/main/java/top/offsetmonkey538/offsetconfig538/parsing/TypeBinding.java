@@ -0,0 +1,315 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+import top.offsetmonkey538.offsetconfig538.util.ArrayUtils;
+
+/**
+ * Binds the entries of a block straight to a record or class, used by {@link Parser#parseInto(String, Class)}.
+ * <br>
+ * Records are bound to their components and created using their canonical constructor. Classes are created using their constructor
+ * without parameters and bound to their non-static, non-transient, non-final fields, which are set as the entries are read.
+ * Blocks are bound to components and fields of their own record or class.
+ * <br>
+ * The components or fields of a type are only looked up once and bound to method handles, cached in a {@link ClassValue}.
+ */
+final class TypeBinding {
+    private static final ClassValue<TypeBinding> BINDINGS = new ClassValue<>() {
+        @Override
+        protected TypeBinding computeValue(Class<?> type) {
+            return new TypeBinding(type);
+        }
+    };
+
+    /**
+     * How a value is read.
+     */
+    private enum Kind {
+        INT, LONG, FLOAT, DOUBLE, BOOLEAN, STRING, INT_ARRAY, LONG_ARRAY, FLOAT_ARRAY, DOUBLE_ARRAY, BOOLEAN_ARRAY, STRING_ARRAY, ARRAY, OTHER
+    }
+
+    private final Class<?> type;
+    private final boolean record;
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final String[] names;
+    private final Class<?>[] types;
+    private final Kind[] kinds;
+    /**
+     * The canonical constructor of records, of type <code>(Object[])Object</code>, or the constructor of classes, of type <code>()Object</code>.
+     */
+    private final MethodHandle constructor;
+    /**
+     * The values of missing record components.
+     */
+    private final Object[] defaults;
+    /**
+     * The setters of the fields of classes, of type <code>(Object, type)void</code> for primitives and <code>(Object, Object)void</code> for everything else.
+     */
+    private final MethodHandle[] setters;
+
+    private TypeBinding(Class<?> type) {
+        this.type = type;
+        this.record = type.isRecord();
+
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+            if (record) {
+                final RecordComponent[] components = type.getRecordComponents();
+                this.names = new String[components.length];
+                this.types = new Class<?>[components.length];
+                this.defaults = new Object[components.length];
+                this.setters = null;
+
+                for (int i = 0; i < components.length; i++) {
+                    names[i] = components[i].getName();
+                    types[i] = components[i].getType();
+                    defaults[i] = getDefault(types[i]);
+                }
+
+                final Constructor<?> canonicalConstructor = type.getDeclaredConstructor(types);
+                checkAccessible(canonicalConstructor.trySetAccessible(), canonicalConstructor);
+                this.constructor = lookup.unreflectConstructor(canonicalConstructor)
+                        .asSpreader(Object[].class, components.length)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } else {
+                final List<Field> fields = new ArrayList<>();
+                for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                    for (Field field : current.getDeclaredFields()) {
+                        final int modifiers = field.getModifiers();
+                        if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || Modifier.isFinal(modifiers)) continue;
+
+                        fields.add(field);
+                    }
+                }
+
+                this.names = new String[fields.size()];
+                this.types = new Class<?>[fields.size()];
+                this.defaults = null;
+                this.setters = new MethodHandle[fields.size()];
+
+                for (int i = 0; i < fields.size(); i++) {
+                    final Field field = fields.get(i);
+                    checkAccessible(field.trySetAccessible(), field);
+
+                    names[i] = field.getName();
+                    types[i] = field.getType();
+                    final Class<?> valueType = types[i].isPrimitive() ? types[i] : Object.class;
+                    setters[i] = lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, valueType));
+                }
+
+                final Constructor<?> noArgsConstructor = type.getDeclaredConstructor();
+                checkAccessible(noArgsConstructor.trySetAccessible(), noArgsConstructor);
+                this.constructor = lookup.unreflectConstructor(noArgsConstructor).asType(MethodType.methodType(Object.class));
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(String.format("Type '%s' needs a canonical constructor or a constructor without parameters to be bound!", type.getName()), e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(String.format("Can't access type '%s'!", type.getName()), e);
+        }
+
+        this.kinds = new Kind[names.length];
+        for (int i = 0; i < names.length; i++) {
+            indices.put(names[i], i);
+            kinds[i] = getKind(types[i]);
+        }
+    }
+
+    /**
+     * Gets the binding for the provided type.
+     *
+     * @param type the record or class to bind to.
+     * @return the binding for the provided type.
+     * @throws OffsetConfigException when the type can't be bound to.
+     */
+    static TypeBinding of(Class<?> type) throws OffsetConfigException {
+        if (type.isPrimitive() || type.isArray() || type.isInterface() || Modifier.isAbstract(type.getModifiers())) throw new OffsetConfigException("Can't bind to type '%s', only records and classes can be bound to!", type.getName());
+
+        try {
+            return BINDINGS.get(type);
+        } catch (IllegalArgumentException e) {
+            throw new OffsetConfigException("Can't bind to type '%s': %s", type.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the entries of the current block and binds them to a new instance of the type.
+     * Entries without a component or field are skipped.
+     * <br>
+     * After this, the current event is the end of the block or the end of the document.
+     *
+     * @param parser the parser to parse objects and arrays of objects with.
+     * @param reader the reader positioned at the start of the block or the document.
+     * @return the new instance.
+     * @throws OffsetConfigException when something goes wrong when parsing the content or when a value can't be bound.
+     */
+    Object bind(Parser parser, ConfigEventReader reader) throws OffsetConfigException {
+        final Object[] values = record ? defaults.clone() : null;
+        final Object instance;
+        try {
+            instance = record ? null : (Object) constructor.invokeExact();
+        } catch (Throwable e) {
+            throw bindingException(e, "Failed to create '%s'!", type.getName());
+        }
+
+        while (true) {
+            final ConfigEvent event = reader.next();
+
+            switch (event) {
+                case COMMENT -> {
+                    continue;
+                }
+                case BLOCK_END, END_DOCUMENT -> {
+                    if (!record) return instance;
+
+                    try {
+                        return (Object) constructor.invokeExact(values);
+                    } catch (Throwable e) {
+                        throw bindingException(e, "Failed to create '%s'!", type.getName());
+                    }
+                }
+            }
+
+            final Integer index = indices.get(reader.getKey());
+            if (index == null) {
+                skip(reader);
+                continue;
+            }
+
+            final int i = index;
+            if (record) values[i] = readValue(parser, reader, i);
+            else if (types[i].isPrimitive() && event != ConfigEvent.BLOCK_START) setPrimitive(instance, reader, i);
+            else {
+                final Object value = readValue(parser, reader, i);
+                try {
+                    setters[i].invokeExact(instance, value);
+                } catch (Throwable e) {
+                    throw bindingException(e, "Failed to set field '%s' of '%s'!", names[i], type.getName());
+                }
+            }
+        }
+    }
+
+    private Object readValue(Parser parser, ConfigEventReader reader, int i) throws OffsetConfigException {
+        if (reader.getEvent() == ConfigEvent.BLOCK_START) {
+            if (kinds[i] != Kind.OTHER) throw new OffsetConfigException("Expected a value for '%s' at line '%s', but got a block!", names[i], reader.getLineNumber());
+            return of(types[i]).bind(parser, reader);
+        }
+
+        return switch (kinds[i]) {
+            case INT -> reader.getIntValue();
+            case LONG -> reader.getLongValue();
+            case FLOAT -> reader.getFloatValue();
+            case DOUBLE -> reader.getDoubleValue();
+            case BOOLEAN -> reader.getBooleanValue();
+            case STRING -> reader.getStringValue();
+            case INT_ARRAY -> reader.readIntArray();
+            case LONG_ARRAY -> reader.readLongArray();
+            case FLOAT_ARRAY -> reader.readFloatArray();
+            case DOUBLE_ARRAY -> reader.readDoubleArray();
+            case BOOLEAN_ARRAY -> reader.readBooleanArray();
+            case STRING_ARRAY -> reader.readStringArray();
+            case ARRAY -> {
+                final Object value = parser.parseValue(reader);
+                if (!value.getClass().isArray()) throw new OffsetConfigException("Expected an array for '%s' at line '%s', but got '%s'!", names[i], reader.getLineNumber(), value);
+
+                try {
+                    yield ArrayUtils.castTo(value, types[i].getComponentType());
+                } catch (ArrayStoreException e) {
+                    throw new OffsetConfigException("Expected an array of '%s' for '%s' at line '%s'!", types[i].getComponentType().getName(), names[i], reader.getLineNumber());
+                }
+            }
+            case OTHER -> {
+                final Object value = parser.parseValue(reader);
+                if (!types[i].isInstance(value)) throw new OffsetConfigException("Expected value of type '%s' for '%s' at line '%s', but got '%s'!", types[i].getName(), names[i], reader.getLineNumber(), value);
+                yield value;
+            }
+        };
+    }
+
+    private void setPrimitive(Object instance, ConfigEventReader reader, int i) throws OffsetConfigException {
+        final MethodHandle setter = setters[i];
+
+        try {
+            switch (kinds[i]) {
+                case INT -> setter.invokeExact(instance, reader.getIntValue());
+                case LONG -> setter.invokeExact(instance, reader.getLongValue());
+                case FLOAT -> setter.invokeExact(instance, reader.getFloatValue());
+                case DOUBLE -> setter.invokeExact(instance, reader.getDoubleValue());
+                case BOOLEAN -> setter.invokeExact(instance, reader.getBooleanValue());
+                default -> throw new IllegalStateException();
+            }
+        } catch (OffsetConfigException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw bindingException(e, "Failed to set field '%s' of '%s'!", names[i], type.getName());
+        }
+    }
+
+    /**
+     * Skips the value or block of the current event.
+     */
+    private static void skip(ConfigEventReader reader) throws OffsetConfigException {
+        if (reader.getEvent() != ConfigEvent.BLOCK_START) {
+            reader.skipChildren();
+            return;
+        }
+
+        int depth = 1;
+        while (depth > 0) {
+            final ConfigEvent event = reader.next();
+
+            if (event == ConfigEvent.BLOCK_START) depth++;
+            else if (event == ConfigEvent.BLOCK_END) depth--;
+        }
+    }
+
+    private static Kind getKind(Class<?> type) {
+        if (type == int.class || type == Integer.class) return Kind.INT;
+        if (type == long.class || type == Long.class) return Kind.LONG;
+        if (type == float.class || type == Float.class) return Kind.FLOAT;
+        if (type == double.class || type == Double.class) return Kind.DOUBLE;
+        if (type == boolean.class || type == Boolean.class) return Kind.BOOLEAN;
+        if (type == String.class) return Kind.STRING;
+        if (type == int[].class) return Kind.INT_ARRAY;
+        if (type == long[].class) return Kind.LONG_ARRAY;
+        if (type == float[].class) return Kind.FLOAT_ARRAY;
+        if (type == double[].class) return Kind.DOUBLE_ARRAY;
+        if (type == boolean[].class) return Kind.BOOLEAN_ARRAY;
+        if (type == String[].class) return Kind.STRING_ARRAY;
+        if (type.isPrimitive() || type.isArray() && type.getComponentType().isPrimitive()) throw new IllegalArgumentException(String.format("Type '%s' isn't supported!", type.getName()));
+        if (type.isArray()) return Kind.ARRAY;
+        return Kind.OTHER;
+    }
+
+    private static Object getDefault(Class<?> type) {
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        if (type == double.class) return 0d;
+        if (type == boolean.class) return false;
+        if (type.isPrimitive()) throw new IllegalArgumentException(String.format("Type '%s' isn't supported!", type.getName()));
+        return null;
+    }
+
+    private static void checkAccessible(boolean accessible, Object member) throws IllegalAccessException {
+        // Non-public types can still be accessed when their module is open to this one.
+        if (!accessible) throw new IllegalAccessException(String.format("Can't access '%s'!", member));
+    }
+
+    private static OffsetConfigException bindingException(Throwable cause, String message, Object... args) {
+        final OffsetConfigException exception = new OffsetConfigException(message, args);
+        exception.initCause(cause);
+        return exception;
+    }
+}
@@ -0,0 +1,128 @@
+package top.offsetmonkey538.offsetconfig538.serialization;
+
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+/**
+ * Reads the values of an object for an {@link OffsetConfigStreamSerializer}.
+ * <br>
+ * Values can be read in any order, but reading them in the order they were written is the fastest,
+ * as the parser then doesn't need to store values that were skipped. Values that aren't read are ignored.
+ * Every value should only be read once, as the parser doesn't store the values it reads, and reading one again may throw an exception.
+ * {@link #has(String)} still returns true for values that were read.
+ * <br>
+ * Numbers are converted to wider types, so for example an int can be read as a long or a double, but not the other way around.
+ * Reading a value of a primitive type throws an exception when the value is missing, while the other methods return null.
+ */
+public interface ConfigObjectReader {
+
+    /**
+     * @param key The key of the value.
+     * @return if the object has a value for the provided key.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     */
+    boolean has(String key) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @return the value as a String or null if it's missing.
+     * @throws OffsetConfigException when the value isn't a String.
+     */
+    String readString(String key) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @return the value as a boolean.
+     * @throws OffsetConfigException when the value is missing or isn't a boolean.
+     */
+    boolean readBoolean(String key) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @return the value as an int.
+     * @throws OffsetConfigException when the value is missing or isn't an int.
+     */
+    int readInt(String key) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @return the value as a long.
+     * @throws OffsetConfigException when the value is missing or isn't an int or a long.
+     */
+    long readLong(String key) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @return the value as a float.
+     * @throws OffsetConfigException when the value is missing, isn't a number or is a double.
+     */
+    float readFloat(String key) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @return the value as a double.
+     * @throws OffsetConfigException when the value is missing or isn't a number.
+     */
+    double readDouble(String key) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @return the value as an array of int or null if it's missing.
+     * @throws OffsetConfigException when the value isn't an array of int.
+     */
+    int[] readIntArray(String key) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @return the value as an array of long or null if it's missing.
+     * @throws OffsetConfigException when the value isn't an array of long.
+     */
+    long[] readLongArray(String key) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @return the value as an array of float or null if it's missing.
+     * @throws OffsetConfigException when the value isn't an array of float.
+     */
+    float[] readFloatArray(String key) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @return the value as an array of double or null if it's missing.
+     * @throws OffsetConfigException when the value isn't an array of double.
+     */
+    double[] readDoubleArray(String key) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @return the value as an array of boolean or null if it's missing.
+     * @throws OffsetConfigException when the value isn't an array of boolean.
+     */
+    boolean[] readBooleanArray(String key) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @param elementType The type of the elements of the array.
+     * @param <E> The type of the elements of the array.
+     * @return the value as an array of E or null if it's missing.
+     * @throws OffsetConfigException when the value isn't an array of E.
+     */
+    <E> E[] readArray(String key, Class<E> elementType) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @param type The class of the object.
+     * @param <V> The class of the object.
+     * @return the value as an object of V or null if it's missing.
+     * @throws OffsetConfigException when the value isn't an object of V.
+     */
+    <V> V readObject(String key, Class<V> type) throws OffsetConfigException;
+
+    /**
+     * Reads a value of any type, as it would be in the map returned by {@link top.offsetmonkey538.offsetconfig538.parsing.Parser#parseWithoutComments(String)}.
+     *
+     * @param key The key of the value.
+     * @return the value or null if it's missing.
+     * @throws OffsetConfigException when something goes wrong when parsing the content.
+     */
+    Object readValue(String key) throws OffsetConfigException;
+}
@@ -0,0 +1,62 @@
+package top.offsetmonkey538.offsetconfig538.serialization;
+
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+/**
+ * Writes the values of an object for an {@link OffsetConfigStreamSerializer}.
+ * <br>
+ * Values are written in the order the methods are called.
+ */
+public interface ConfigObjectWriter {
+
+    /**
+     * @param key The key of the value.
+     * @param value The value to write.
+     * @throws OffsetConfigException when the value is null or something goes wrong while generating.
+     */
+    void writeString(String key, String value) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @param value The value to write.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     */
+    void writeBoolean(String key, boolean value) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @param value The value to write.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     */
+    void writeInt(String key, int value) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @param value The value to write.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     */
+    void writeLong(String key, long value) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @param value The value to write.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     */
+    void writeFloat(String key, float value) throws OffsetConfigException;
+
+    /**
+     * @param key The key of the value.
+     * @param value The value to write.
+     * @throws OffsetConfigException when something goes wrong while generating.
+     */
+    void writeDouble(String key, double value) throws OffsetConfigException;
+
+    /**
+     * Writes a value of any type, like an array or an object with a serializer.
+     *
+     * @param key The key of the value.
+     * @param value The value to write.
+     * @throws OffsetConfigException when the value is null, there's no serializer for it or something goes wrong while generating.
+     */
+    void writeValue(String key, Object value) throws OffsetConfigException;
+}
@@ -0,0 +1,134 @@
+package top.offsetmonkey538.offsetconfig538.serialization;
+
+import java.util.Map;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+import top.offsetmonkey538.offsetconfig538.util.ArrayUtils;
+
+/**
+ * Reads the values of an object from a map, like the one passed to {@link OffsetConfigSerializer#deserialize(Map)}.
+ * Used for the map-based methods of an {@link OffsetConfigStreamSerializer}.
+ */
+public final class MapObjectReader implements ConfigObjectReader {
+    private final Map<String, Object> entries;
+
+    /**
+     * Constructs a new MapObjectReader.
+     *
+     * @param entries The entries to read the values from.
+     */
+    public MapObjectReader(Map<String, Object> entries) {
+        this.entries = entries;
+    }
+
+    @Override
+    public boolean has(String key) {
+        return entries.get(key) != null;
+    }
+
+    @Override
+    public String readString(String key) throws OffsetConfigException {
+        final Object value = entries.get(key);
+        if (value == null || value instanceof String) return (String) value;
+        throw new OffsetConfigException("Expected value of key '%s' to be a String, but got '%s'!", key, value);
+    }
+
+    @Override
+    public boolean readBoolean(String key) throws OffsetConfigException {
+        if (entries.get(key) instanceof Boolean value) return value;
+        throw new OffsetConfigException("Expected value of key '%s' to be a boolean, but got '%s'!", key, entries.get(key));
+    }
+
+    @Override
+    public int readInt(String key) throws OffsetConfigException {
+        if (entries.get(key) instanceof Integer value) return value;
+        throw new OffsetConfigException("Expected value of key '%s' to be an int, but got '%s'!", key, entries.get(key));
+    }
+
+    @Override
+    public long readLong(String key) throws OffsetConfigException {
+        final Object value = entries.get(key);
+        if (value instanceof Integer || value instanceof Long) return ((Number) value).longValue();
+        throw new OffsetConfigException("Expected value of key '%s' to be a long, but got '%s'!", key, value);
+    }
+
+    @Override
+    public float readFloat(String key) throws OffsetConfigException {
+        final Object value = entries.get(key);
+        if (value instanceof Integer || value instanceof Long || value instanceof Float) return ((Number) value).floatValue();
+        throw new OffsetConfigException("Expected value of key '%s' to be a float, but got '%s'!", key, value);
+    }
+
+    @Override
+    public double readDouble(String key) throws OffsetConfigException {
+        final Object value = entries.get(key);
+        if (value instanceof Integer || value instanceof Long || value instanceof Float || value instanceof Double) return ((Number) value).doubleValue();
+        throw new OffsetConfigException("Expected value of key '%s' to be a double, but got '%s'!", key, value);
+    }
+
+    @Override
+    public int[] readIntArray(String key) throws OffsetConfigException {
+        final Object value = entries.get(key);
+        if (value == null || value instanceof int[]) return (int[]) value;
+        return convertArray(key, value, int.class, ArrayUtils::castToInt);
+    }
+
+    @Override
+    public long[] readLongArray(String key) throws OffsetConfigException {
+        final Object value = entries.get(key);
+        if (value == null || value instanceof long[]) return (long[]) value;
+        return convertArray(key, value, long.class, ArrayUtils::castToLong);
+    }
+
+    @Override
+    public float[] readFloatArray(String key) throws OffsetConfigException {
+        final Object value = entries.get(key);
+        if (value == null || value instanceof float[]) return (float[]) value;
+        return convertArray(key, value, float.class, ArrayUtils::castToFloat);
+    }
+
+    @Override
+    public double[] readDoubleArray(String key) throws OffsetConfigException {
+        final Object value = entries.get(key);
+        if (value == null || value instanceof double[]) return (double[]) value;
+        return convertArray(key, value, double.class, ArrayUtils::castToDouble);
+    }
+
+    @Override
+    public boolean[] readBooleanArray(String key) throws OffsetConfigException {
+        final Object value = entries.get(key);
+        if (value == null || value instanceof boolean[]) return (boolean[]) value;
+        return convertArray(key, value, boolean.class, ArrayUtils::castToBoolean);
+    }
+
+    @Override
+    public <E> E[] readArray(String key, Class<E> elementType) throws OffsetConfigException {
+        final Object value = entries.get(key);
+        if (value == null) return null;
+        return convertArray(key, value, elementType, array -> ArrayUtils.castTo(array, elementType));
+    }
+
+    @Override
+    public <V> V readObject(String key, Class<V> type) throws OffsetConfigException {
+        final Object value = entries.get(key);
+        if (value == null || type.isInstance(value)) return type.cast(value);
+        throw new OffsetConfigException("Expected value of key '%s' to be of type '%s', but got '%s'!", key, type.getName(), value);
+    }
+
+    @Override
+    public Object readValue(String key) {
+        return entries.get(key);
+    }
+
+    private static <A> A convertArray(String key, Object value, Class<?> elementType, ArrayConverter<A> converter) throws OffsetConfigException {
+        try {
+            return converter.convert(value);
+        } catch (RuntimeException e) {
+            throw new OffsetConfigException("Expected value of key '%s' to be an array of '%s', but got '%s'!", key, elementType.getName(), value);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ArrayConverter<A> {
+        A convert(Object array);
+    }
+}
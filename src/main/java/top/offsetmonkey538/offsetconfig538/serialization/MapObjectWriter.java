@@ -0,0 +1,57 @@
+package top.offsetmonkey538.offsetconfig538.serialization;
+
+import java.util.Map;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+/**
+ * Writes the values of an object into a map, like the one passed to {@link OffsetConfigSerializer#serialize(Map, Object)}.
+ * Used for the map-based methods of an {@link OffsetConfigStreamSerializer}.
+ */
+public final class MapObjectWriter implements ConfigObjectWriter {
+    private final Map<String, Object> entries;
+
+    /**
+     * Constructs a new MapObjectWriter.
+     *
+     * @param entries The map to put the values into.
+     */
+    public MapObjectWriter(Map<String, Object> entries) {
+        this.entries = entries;
+    }
+
+    @Override
+    public void writeString(String key, String value) throws OffsetConfigException {
+        writeValue(key, value);
+    }
+
+    @Override
+    public void writeBoolean(String key, boolean value) {
+        entries.put(key, value);
+    }
+
+    @Override
+    public void writeInt(String key, int value) {
+        entries.put(key, value);
+    }
+
+    @Override
+    public void writeLong(String key, long value) {
+        entries.put(key, value);
+    }
+
+    @Override
+    public void writeFloat(String key, float value) {
+        entries.put(key, value);
+    }
+
+    @Override
+    public void writeDouble(String key, double value) {
+        entries.put(key, value);
+    }
+
+    @Override
+    public void writeValue(String key, Object value) throws OffsetConfigException {
+        if (value == null) throw new OffsetConfigException("Value of key '%s' can't be null!", key);
+        entries.put(key, value);
+    }
+}
@@ -1,6 +1,5 @@
 package top.offsetmonkey538.offsetconfig538.serialization;
 
-import java.lang.reflect.ParameterizedType;
 import java.util.Map;
 import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
 
@@ -45,7 +44,7 @@ public interface OffsetConfigSerializer<T> {
      */
     @SuppressWarnings("unchecked")
     default void serializeFromObject(Map<String, Object> entries, Object value) throws OffsetConfigException {
-        if (!value.getClass().isAssignableFrom(getTypeClass())) throw new OffsetConfigException("Value '%s' not instance of '%s'!", value, getTypeClass());
+        if (!getTypeClass().isInstance(value)) throw new OffsetConfigException("Value '%s' not instance of '%s'!", value, getTypeClass());
         serialize(entries, (T) value);
     }
 
@@ -79,10 +78,12 @@ public interface OffsetConfigSerializer<T> {
 
     /**
      * Get the class of <code>T</code>.
+     * <br>
+     * Found from the type argument of this interface on the class of the serializer, which is only looked up once for each serializer class.
      *
      * @return the class of <code>T</code>.
      */
     default Class<?> getTypeClass() {
-        return (Class<?>) ((ParameterizedType) getClass().getGenericInterfaces()[0]).getActualTypeArguments()[0];
+        return SerializerTypeClasses.get(getClass());
     }
 }
@@ -0,0 +1,95 @@
+package top.offsetmonkey538.offsetconfig538.serialization;
+
+import java.util.Map;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+/**
+ * A serializer for a specific class, reading and writing the values of objects one by one instead of through a map.
+ * <br>
+ * The parser and generator call {@link #read(ConfigObjectReader)} and {@link #write(ConfigObjectWriter, Object)} directly
+ * with the content they are reading and writing, so no map is created and numbers and booleans aren't boxed.
+ * The map-based methods of {@link OffsetConfigSerializer} still work, using the same methods.
+ *
+ * @param <T> The class to serialize.
+ */
+public interface OffsetConfigStreamSerializer<T> extends OffsetConfigSerializer<T> {
+
+    /**
+     * Creates a new instance of <code>T</code> from the values of an object.
+     * <br>
+     * Example implementation:
+     * <pre> {@code
+     *      public MyCoolClass read(ConfigObjectReader in) throws OffsetConfigException {
+     *          return new MyCoolClass(
+     *              in.readInt("veryCoolValue"),
+     *              in.readString("anotherCoolValue"),
+     *              in.readIntArray("thisIsAnArray")
+     *          );
+     *      }
+     * }
+     * </pre>
+     *
+     * @param in The reader to read the values from.
+     * @return a new object of type T.
+     * @throws OffsetConfigException when something goes wrong when deserializing the content.
+     */
+    T read(ConfigObjectReader in) throws OffsetConfigException;
+
+    /**
+     * Writes the values of the provided object.
+     * <br>
+     * Example implementation:
+     * <pre> {@code
+     *      public void write(ConfigObjectWriter out, MyCoolClass value) throws OffsetConfigException {
+     *          out.writeInt("veryCoolValue", value.getVeryCoolValue());
+     *          out.writeString("anotherCoolValue", value.getAnotherCoolValue());
+     *          out.writeValue("thisIsAnArray", value.getThisIsAnArray());
+     *      }
+     * }
+     * </pre>
+     *
+     * @param out The writer to write the values to.
+     * @param value The value to serialize.
+     * @throws OffsetConfigException When something goes wrong while serializing.
+     */
+    void write(ConfigObjectWriter out, T value) throws OffsetConfigException;
+
+    /**
+     * Writes the provided Object value.
+     * <br>
+     * Checks if <code>value</code> is of the generic type {@link T} and calls the {@link #write(ConfigObjectWriter, Object) write(ConfigObjectWriter, T)} method.
+     *
+     * @param out The writer to write the values to.
+     * @param value The value to serialize.
+     * @throws OffsetConfigException When <code>value</code> isn't of the generic type {@link T} or when something goes wrong while serializing.
+     */
+    @SuppressWarnings("unchecked")
+    default void writeFromObject(ConfigObjectWriter out, Object value) throws OffsetConfigException {
+        if (!getTypeClass().isInstance(value)) throw new OffsetConfigException("Value '%s' not instance of '%s'!", value, getTypeClass());
+        write(out, (T) value);
+    }
+
+    /**
+     * Reads the entries using {@link #read(ConfigObjectReader)}.
+     *
+     * @param entries The entries to construct the object from.
+     * @return a new object of type T.
+     * @throws OffsetConfigException when something goes wrong when deserializing the content.
+     */
+    @Override
+    default T deserialize(Map<String, Object> entries) throws OffsetConfigException {
+        return read(new MapObjectReader(entries));
+    }
+
+    /**
+     * Writes the value into the entries using {@link #write(ConfigObjectWriter, Object)}.
+     *
+     * @param entries The entries map to put the data into.
+     * @param value The value to serialize.
+     * @throws OffsetConfigException When something goes wrong while serializing.
+     */
+    @Override
+    default void serialize(Map<String, Object> entries, T value) throws OffsetConfigException {
+        write(new MapObjectWriter(entries), value);
+    }
+}
@@ -0,0 +1,31 @@
+package top.offsetmonkey538.offsetconfig538.serialization;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates an {@link OffsetConfigSerializer} for the annotated record or class at compile time.
+ * <br>
+ * Requires the OffsetConfig538 annotation processor. The serializer is generated into the same package,
+ * named after the annotated type with the nested names separated by <code>_</code> and the suffix <code>OffsetConfigSerializer</code>,
+ * for example <code>MyCoolClassOffsetConfigSerializer</code>. It still needs to be added using {@link top.offsetmonkey538.offsetconfig538.OffsetConfig538#addSerializer(OffsetConfigSerializer[])}.
+ * <br>
+ * Records are serialized using their components and canonical constructor. Classes are serialized using their non-static, non-transient fields,
+ * which can't be private or final, and need a constructor without parameters that isn't private.
+ * <br>
+ * Supported value types are <code>String</code>, <code>int</code>, <code>long</code>, <code>float</code>, <code>double</code>, <code>boolean</code>,
+ * their wrappers, arrays of them and any type with a serializer.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface OffsetConfigType {
+
+    /**
+     * @return the type used in configs for the annotated type. The binary name of the annotated type when empty, like {@link OffsetConfigSerializer#getType()}.
+     */
+    String value() default "";
+}
@@ -0,0 +1,237 @@
+package top.offsetmonkey538.offsetconfig538.serialization;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.Collections;
+import java.util.Map;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+import top.offsetmonkey538.offsetconfig538.util.ArrayUtils;
+
+/**
+ * A serializer for any record, using its components and canonical constructor.
+ * <br>
+ * The components of a record are only looked up once, when its serializer is first requested using {@link #of(Class)}.
+ * They are bound to method handles for their accessors and the canonical constructor, which are combined into one handle putting every component into a map
+ * and one handle creating the record from a map, converting the values to the types of the components. So serializing and deserializing doesn't use reflection,
+ * and each only calls a single method handle.
+ * <br>
+ * Supports the same value types as {@link OffsetConfigType}.
+ *
+ * @param <T> The record to serialize.
+ */
+public final class RecordSerializer<T extends Record> implements OffsetConfigSerializer<T> {
+    private static final ClassValue<RecordSerializer<?>> SERIALIZERS = new ClassValue<>() {
+        @Override
+        protected RecordSerializer<?> computeValue(Class<?> type) {
+            return new RecordSerializer<>(type.asSubclass(Record.class));
+        }
+    };
+    private static final MethodType SERIALIZER_TYPE = MethodType.methodType(void.class, Map.class, Object.class);
+    private static final MethodType DESERIALIZER_TYPE = MethodType.methodType(Object.class, Map.class);
+
+    private final Class<T> recordClass;
+    /**
+     * Puts every component of a record into a map, of type <code>(Map, Object)void</code>.
+     */
+    private final MethodHandle serializer;
+    /**
+     * The canonical constructor taking the unconverted values of the components from a map, of type <code>(Map)Object</code>.
+     */
+    private final MethodHandle deserializer;
+
+    private RecordSerializer(Class<T> recordClass) {
+        if (!recordClass.isRecord()) throw new IllegalArgumentException(String.format("Class '%s' isn't a record!", recordClass.getName()));
+
+        final RecordComponent[] components = recordClass.getRecordComponents();
+        final Class<?>[] types = new Class<?>[components.length];
+        // Get the value of each component from the map and convert it, of type (Map)type.
+        final MethodHandle[] getters = new MethodHandle[components.length];
+
+        this.recordClass = recordClass;
+
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final MethodHandle put = lookup.findVirtual(Map.class, "put", MethodType.methodType(Object.class, Object.class, Object.class));
+            final MethodHandle get = lookup.findVirtual(Map.class, "get", MethodType.methodType(Object.class, Object.class));
+
+            MethodHandle serializer = MethodHandles.empty(SERIALIZER_TYPE);
+            for (int i = 0; i < components.length; i++) {
+                final String name = components[i].getName();
+                types[i] = components[i].getType();
+
+                // entries.put(name, value.component()), run after the components before it.
+                final MethodHandle accessor = unreflect(components[i].getAccessor()).asType(MethodType.methodType(Object.class, Object.class));
+                final MethodHandle putComponent = MethodHandles.filterArguments(MethodHandles.insertArguments(put, 1, name), 1, accessor).asType(SERIALIZER_TYPE);
+                serializer = MethodHandles.foldArguments(putComponent, serializer);
+
+                // converter(entries.get(name), name)
+                final MethodHandle converter = MethodHandles.insertArguments(getConverter(types[i]), 1, name);
+                getters[i] = MethodHandles.filterReturnValue(MethodHandles.insertArguments(get, 1, name), converter);
+            }
+            this.serializer = serializer;
+
+            final MethodHandle canonicalConstructor = unreflect(recordClass.getDeclaredConstructor(types));
+            this.deserializer = MethodHandles.permuteArguments(
+                    MethodHandles.filterArguments(canonicalConstructor, 0, getters).asType(MethodType.methodType(Object.class, Collections.nCopies(components.length, Map.class))),
+                    DESERIALIZER_TYPE,
+                    new int[components.length]
+            );
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(String.format("Can't access record '%s'!", recordClass.getName()), e);
+        }
+    }
+
+    /**
+     * Gets the serializer for the provided record. The same serializer is returned every time.
+     *
+     * @param recordClass The class of the record.
+     * @param <T> The record to serialize.
+     * @return the serializer for the provided record.
+     * @throws IllegalArgumentException when the provided class isn't a record, or its accessors or canonical constructor can't be accessed.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Record> RecordSerializer<T> of(Class<T> recordClass) {
+        return (RecordSerializer<T>) SERIALIZERS.get(recordClass);
+    }
+
+    @Override
+    public T deserialize(Map<String, Object> entries) throws OffsetConfigException {
+        try {
+            return recordClass.cast(deserializer.invokeExact(entries));
+        } catch (OffsetConfigException e) {
+            throw e;
+        } catch (Throwable e) {
+            final OffsetConfigException exception = new OffsetConfigException("Failed to create record '%s' from entries '%s'!", recordClass.getName(), entries);
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    @Override
+    public void serialize(Map<String, Object> entries, T value) throws OffsetConfigException {
+        try {
+            serializer.invokeExact(entries, (Object) value);
+        } catch (Throwable e) {
+            final OffsetConfigException exception = new OffsetConfigException("Failed to get the components of record '%s'!", recordClass.getName());
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    @Override
+    public Class<?> getTypeClass() {
+        return recordClass;
+    }
+
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        // Non-public records can still be accessed when their module is open to this one.
+        if (!method.trySetAccessible()) throw new IllegalAccessException(String.format("Can't access '%s'!", method));
+        return MethodHandles.lookup().unreflect(method);
+    }
+
+    private static MethodHandle unreflect(Constructor<?> constructor) throws IllegalAccessException {
+        if (!constructor.trySetAccessible()) throw new IllegalAccessException(String.format("Can't access '%s'!", constructor));
+        return MethodHandles.lookup().unreflectConstructor(constructor);
+    }
+
+    /**
+     * Gets a method handle converting a parsed value into the provided type, of type <code>(Object, String)type</code>, taking the value and the name of its component.
+     */
+    private static MethodHandle getConverter(Class<?> type) throws ReflectiveOperationException {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        if (type.isArray() && !type.getComponentType().isPrimitive()) {
+            final MethodHandle castTo = lookup.findStatic(ArrayUtils.class, "castTo", MethodType.methodType(Object[].class, Object.class, Class.class));
+            return MethodHandles.dropArguments(MethodHandles.insertArguments(castTo, 1, type.getComponentType()), 1, String.class).asType(MethodType.methodType(type, Object.class, String.class));
+        }
+
+        final String name;
+        if (type == int.class) name = "toInt";
+        else if (type == long.class) name = "toLong";
+        else if (type == float.class) name = "toFloat";
+        else if (type == double.class) name = "toDouble";
+        else if (type == boolean.class) name = "toBoolean";
+        else if (type == Integer.class) name = "toInteger";
+        else if (type == Long.class) name = "toLongWrapper";
+        else if (type == Float.class) name = "toFloatWrapper";
+        else if (type == Double.class) name = "toDoubleWrapper";
+        else if (type == int[].class) name = "toIntArray";
+        else if (type == long[].class) name = "toLongArray";
+        else if (type == float[].class) name = "toFloatArray";
+        else if (type == double[].class) name = "toDoubleArray";
+        else if (type == boolean[].class) name = "toBooleanArray";
+        else if (type.isPrimitive() || type.isArray()) throw new IllegalArgumentException(String.format("Type '%s' isn't supported!", type.getName()));
+        // Any other type is just cast.
+        else return MethodHandles.dropArguments(MethodHandles.identity(Object.class), 1, String.class).asType(MethodType.methodType(type, Object.class, String.class));
+
+        return lookup.findStatic(RecordSerializer.class, name, MethodType.methodType(type, Object.class, String.class));
+    }
+
+    // Numbers are parsed as the smallest type that fits them, so they are widened instead of cast, like MapObjectReader does.
+    private static int toInt(Object value, String name) throws OffsetConfigException {
+        if (value instanceof Integer integer) return integer;
+        throw new OffsetConfigException("Expected value of key '%s' to be an int, but got '%s'!", name, value);
+    }
+
+    private static long toLong(Object value, String name) throws OffsetConfigException {
+        if (value instanceof Integer || value instanceof Long) return ((Number) value).longValue();
+        throw new OffsetConfigException("Expected value of key '%s' to be a long, but got '%s'!", name, value);
+    }
+
+    private static float toFloat(Object value, String name) throws OffsetConfigException {
+        if (value instanceof Integer || value instanceof Long || value instanceof Float) return ((Number) value).floatValue();
+        throw new OffsetConfigException("Expected value of key '%s' to be a float, but got '%s'!", name, value);
+    }
+
+    private static double toDouble(Object value, String name) throws OffsetConfigException {
+        if (value instanceof Integer || value instanceof Long || value instanceof Float || value instanceof Double) return ((Number) value).doubleValue();
+        throw new OffsetConfigException("Expected value of key '%s' to be a double, but got '%s'!", name, value);
+    }
+
+    private static boolean toBoolean(Object value, String name) throws OffsetConfigException {
+        if (value instanceof Boolean bool) return bool;
+        throw new OffsetConfigException("Expected value of key '%s' to be a boolean, but got '%s'!", name, value);
+    }
+
+    // Wrappers are null when the value is missing.
+    private static Integer toInteger(Object value, String name) throws OffsetConfigException {
+        return value == null ? null : toInt(value, name);
+    }
+
+    private static Long toLongWrapper(Object value, String name) throws OffsetConfigException {
+        return value == null ? null : toLong(value, name);
+    }
+
+    private static Float toFloatWrapper(Object value, String name) throws OffsetConfigException {
+        return value == null ? null : toFloat(value, name);
+    }
+
+    private static Double toDoubleWrapper(Object value, String name) throws OffsetConfigException {
+        return value == null ? null : toDouble(value, name);
+    }
+
+    // Arrays are only copied when they don't have the right type already.
+    private static int[] toIntArray(Object value, String name) {
+        return value == null || value instanceof int[] ? (int[]) value : ArrayUtils.castToInt(value);
+    }
+
+    private static long[] toLongArray(Object value, String name) {
+        return value == null || value instanceof long[] ? (long[]) value : ArrayUtils.castToLong(value);
+    }
+
+    private static float[] toFloatArray(Object value, String name) {
+        return value == null || value instanceof float[] ? (float[]) value : ArrayUtils.castToFloat(value);
+    }
+
+    private static double[] toDoubleArray(Object value, String name) {
+        return value == null || value instanceof double[] ? (double[]) value : ArrayUtils.castToDouble(value);
+    }
+
+    private static boolean[] toBooleanArray(Object value, String name) {
+        return value == null || value instanceof boolean[] ? (boolean[]) value : ArrayUtils.castToBoolean(value);
+    }
+}
@@ -0,0 +1,48 @@
+package top.offsetmonkey538.offsetconfig538.serialization;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Caches the type classes of serializers that don't override {@link OffsetConfigSerializer#getTypeClass()},
+ * so the generic type arguments are only looked up once for each serializer class.
+ */
+final class SerializerTypeClasses {
+    private static final ClassValue<Class<?>> TYPE_CLASSES = new ClassValue<>() {
+        @Override
+        protected Class<?> computeValue(Class<?> serializerClass) {
+            return findTypeClass(serializerClass);
+        }
+    };
+
+    private SerializerTypeClasses() {
+
+    }
+
+    /**
+     * @param serializerClass the class of the serializer.
+     * @return the class of <code>T</code> for the provided serializer class.
+     * @throws IllegalArgumentException when the serializer class doesn't implement {@link OffsetConfigSerializer} with a class as the type argument.
+     */
+    static Class<?> get(Class<?> serializerClass) {
+        return TYPE_CLASSES.get(serializerClass);
+    }
+
+    private static Class<?> findTypeClass(Class<?> serializerClass) {
+        for (Class<?> type = serializerClass; type != null; type = type.getSuperclass()) {
+            for (Type genericInterface : type.getGenericInterfaces()) {
+                if (!(genericInterface instanceof ParameterizedType parameterizedType) || !isSerializerInterface(parameterizedType.getRawType())) continue;
+
+                final Type typeArgument = parameterizedType.getActualTypeArguments()[0];
+                if (typeArgument instanceof Class<?> typeClass) return typeClass;
+                if (typeArgument instanceof ParameterizedType parameterizedTypeArgument) return (Class<?>) parameterizedTypeArgument.getRawType();
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("Can't find the type class of serializer '%s', override getTypeClass()!", serializerClass.getName()));
+    }
+
+    private static boolean isSerializerInterface(Type type) {
+        return type == OffsetConfigSerializer.class || type == OffsetConfigStreamSerializer.class;
+    }
+}
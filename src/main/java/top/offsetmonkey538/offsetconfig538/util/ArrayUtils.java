@@ -3,7 +3,7 @@ package top.offsetmonkey538.offsetconfig538.util;
 import java.lang.reflect.Array;
 
 /**
- * Provides methods to cast array Objects into a specific array.
+ * Provides methods to cast array Objects into a specific array or view them as arrays of primitives without copying them.
  */
 public final class ArrayUtils {
     private ArrayUtils() {
@@ -31,6 +31,12 @@ public final class ArrayUtils {
         int length = Array.getLength(arrayObject);
         E[] result = (E[]) Array.newInstance(elementType, length);
 
+        // Arrays of objects are copied in bulk, which checks the type of every element the same way.
+        if (!componentType.isPrimitive()) {
+            System.arraycopy(arrayObject, 0, result, 0, length);
+            return result;
+        }
+
         for (int i = 0; i < length; i++) {
             result[i] = (E) Array.get(arrayObject, i);
         }
@@ -41,63 +47,194 @@ public final class ArrayUtils {
     /**
      * Casts the provided arrayObject into an array of int.
      * <br>
-     * First uses {@link #castTo(Object, Class)} to cast the array to an array of Integers and then converts that to an array of ints.
+     * Returns arrays of int as they are, like the ones returned by the parser, without copying them. Otherwise, copies the elements of the array of Integers straight into a new array of int.
+     * <br>
+     * An array of int is returned as the same array, so changing the result also changes the entries it came from.
+     * Use {@link #viewAsInt(Object)} to only read the elements, or {@link IntArrayView#toArray()} of it to always get a new array.
      *
      * @param arrayObject The array as an object.
-     * @return The arrayObject cast to an array of int.
+     * @return The arrayObject if it's an array of int, otherwise a new array of int.
      * @throws IllegalArgumentException When the provided arrayObject isn't an array.
-     * @see #castTo(Object, Class)
+     * @throws ArrayStoreException When an element of the provided arrayObject isn't an Integer.
+     * @see #viewAsInt(Object)
      */
     public static int[] castToInt(Object arrayObject) {
-        Integer[] wrapperArray = castTo(arrayObject, Integer.class);
-        int[] primitiveArray = new int[wrapperArray.length];
+        if (arrayObject instanceof int[] primitiveArray) return primitiveArray;
 
-        for (int i = 0; i < primitiveArray.length; i++) {
-            primitiveArray[i] = wrapperArray[i];
-        }
+        return viewAsInt(arrayObject).toArray();
+    }
+
+    /**
+     * Views the provided arrayObject as an array of int without copying it.
+     * <br>
+     * Works on arrays of int and arrays of Integers, like the ones returned by the parser or stored by serializers.
+     *
+     * @param arrayObject The array as an object.
+     * @return a read-only view of the arrayObject.
+     * @throws IllegalArgumentException When the provided arrayObject isn't an array.
+     * @throws ArrayStoreException When an element of the provided arrayObject isn't an Integer.
+     */
+    public static IntArrayView viewAsInt(Object arrayObject) {
+        if (arrayObject instanceof int[] primitiveArray) return new IntArrayView(primitiveArray, null);
+
+        return new IntArrayView(null, checkElements(arrayObject, Integer.class));
+    }
+
+    /**
+     * Casts the provided arrayObject into an array of long.
+     * <br>
+     * Returns arrays of long as they are, like the ones returned by the parser, without copying them. Otherwise, copies the elements of the array of Longs straight into a new array of long.
+     * <br>
+     * An array of long is returned as the same array, so changing the result also changes the entries it came from.
+     * Use {@link #viewAsLong(Object)} to only read the elements, or {@link LongArrayView#toArray()} of it to always get a new array.
+     *
+     * @param arrayObject The array as an object.
+     * @return The arrayObject if it's an array of long, otherwise a new array of long.
+     * @throws IllegalArgumentException When the provided arrayObject isn't an array.
+     * @throws ArrayStoreException When an element of the provided arrayObject isn't a Long.
+     * @see #viewAsLong(Object)
+     */
+    public static long[] castToLong(Object arrayObject) {
+        if (arrayObject instanceof long[] primitiveArray) return primitiveArray;
 
-        return primitiveArray;
+        return viewAsLong(arrayObject).toArray();
+    }
+
+    /**
+     * Views the provided arrayObject as an array of long without copying it.
+     * <br>
+     * Works on arrays of long and arrays of Longs, like the ones returned by the parser or stored by serializers.
+     *
+     * @param arrayObject The array as an object.
+     * @return a read-only view of the arrayObject.
+     * @throws IllegalArgumentException When the provided arrayObject isn't an array.
+     * @throws ArrayStoreException When an element of the provided arrayObject isn't a Long.
+     */
+    public static LongArrayView viewAsLong(Object arrayObject) {
+        if (arrayObject instanceof long[] primitiveArray) return new LongArrayView(primitiveArray, null);
+
+        return new LongArrayView(null, checkElements(arrayObject, Long.class));
     }
 
     /**
      * Casts the provided arrayObject into an array of float.
      * <br>
-     * First uses {@link #castTo(Object, Class)} to cast the array to an array of Floats and then converts that to an array of floats.
+     * Returns arrays of float as they are, like the ones returned by the parser, without copying them. Otherwise, copies the elements of the array of Floats straight into a new array of float.
+     * <br>
+     * An array of float is returned as the same array, so changing the result also changes the entries it came from.
+     * Use {@link #viewAsFloat(Object)} to only read the elements, or {@link FloatArrayView#toArray()} of it to always get a new array.
      *
      * @param arrayObject The array as an object.
-     * @return The arrayObject cast to an array of float.
+     * @return The arrayObject if it's an array of float, otherwise a new array of float.
      * @throws IllegalArgumentException When the provided arrayObject isn't an array.
-     * @see #castTo(Object, Class)
+     * @throws ArrayStoreException When an element of the provided arrayObject isn't a Float.
+     * @see #viewAsFloat(Object)
      */
     public static float[] castToFloat(Object arrayObject) {
-        Float[] wrapperArray = castTo(arrayObject, Float.class);
-        float[] primitiveArray = new float[wrapperArray.length];
+        if (arrayObject instanceof float[] primitiveArray) return primitiveArray;
 
-        for (int i = 0; i < primitiveArray.length; i++) {
-            primitiveArray[i] = wrapperArray[i];
-        }
+        return viewAsFloat(arrayObject).toArray();
+    }
 
-        return primitiveArray;
+    /**
+     * Views the provided arrayObject as an array of float without copying it.
+     * <br>
+     * Works on arrays of float and arrays of Floats, like the ones returned by the parser or stored by serializers.
+     *
+     * @param arrayObject The array as an object.
+     * @return a read-only view of the arrayObject.
+     * @throws IllegalArgumentException When the provided arrayObject isn't an array.
+     * @throws ArrayStoreException When an element of the provided arrayObject isn't a Float.
+     */
+    public static FloatArrayView viewAsFloat(Object arrayObject) {
+        if (arrayObject instanceof float[] primitiveArray) return new FloatArrayView(primitiveArray, null);
+
+        return new FloatArrayView(null, checkElements(arrayObject, Float.class));
+    }
+
+    /**
+     * Casts the provided arrayObject into an array of double.
+     * <br>
+     * Returns arrays of double as they are, like the ones returned by the parser, without copying them. Otherwise, copies the elements of the array of Doubles straight into a new array of double.
+     * <br>
+     * An array of double is returned as the same array, so changing the result also changes the entries it came from.
+     * Use {@link #viewAsDouble(Object)} to only read the elements, or {@link DoubleArrayView#toArray()} of it to always get a new array.
+     *
+     * @param arrayObject The array as an object.
+     * @return The arrayObject if it's an array of double, otherwise a new array of double.
+     * @throws IllegalArgumentException When the provided arrayObject isn't an array.
+     * @throws ArrayStoreException When an element of the provided arrayObject isn't a Double.
+     * @see #viewAsDouble(Object)
+     */
+    public static double[] castToDouble(Object arrayObject) {
+        if (arrayObject instanceof double[] primitiveArray) return primitiveArray;
+
+        return viewAsDouble(arrayObject).toArray();
+    }
+
+    /**
+     * Views the provided arrayObject as an array of double without copying it.
+     * <br>
+     * Works on arrays of double and arrays of Doubles, like the ones returned by the parser or stored by serializers.
+     *
+     * @param arrayObject The array as an object.
+     * @return a read-only view of the arrayObject.
+     * @throws IllegalArgumentException When the provided arrayObject isn't an array.
+     * @throws ArrayStoreException When an element of the provided arrayObject isn't a Double.
+     */
+    public static DoubleArrayView viewAsDouble(Object arrayObject) {
+        if (arrayObject instanceof double[] primitiveArray) return new DoubleArrayView(primitiveArray, null);
+
+        return new DoubleArrayView(null, checkElements(arrayObject, Double.class));
     }
 
     /**
      * Casts the provided arrayObject into an array of boolean.
      * <br>
-     * First uses {@link #castTo(Object, Class)} to cast the array to an array of Booleans and then converts that to an array of booleans.
+     * Returns arrays of boolean as they are, like the ones returned by the parser, without copying them. Otherwise, copies the elements of the array of Booleans straight into a new array of boolean.
+     * <br>
+     * An array of boolean is returned as the same array, so changing the result also changes the entries it came from.
+     * Use {@link #viewAsBoolean(Object)} to only read the elements, or {@link BooleanArrayView#toArray()} of it to always get a new array.
      *
      * @param arrayObject The array as an object.
-     * @return The arrayObject cast to an array of boolean.
+     * @return The arrayObject if it's an array of boolean, otherwise a new array of boolean.
      * @throws IllegalArgumentException When the provided arrayObject isn't an array.
-     * @see #castTo(Object, Class)
+     * @throws ArrayStoreException When an element of the provided arrayObject isn't a Boolean.
+     * @see #viewAsBoolean(Object)
      */
     public static boolean[] castToBoolean(Object arrayObject) {
-        Boolean[] wrapperArray = castTo(arrayObject, Boolean.class);
-        boolean[] primitiveArray = new boolean[wrapperArray.length];
+        if (arrayObject instanceof boolean[] primitiveArray) return primitiveArray;
+
+        return viewAsBoolean(arrayObject).toArray();
+    }
+
+    /**
+     * Views the provided arrayObject as an array of boolean without copying it.
+     * <br>
+     * Works on arrays of boolean and arrays of Booleans, like the ones returned by the parser or stored by serializers.
+     *
+     * @param arrayObject The array as an object.
+     * @return a read-only view of the arrayObject.
+     * @throws IllegalArgumentException When the provided arrayObject isn't an array.
+     * @throws ArrayStoreException When an element of the provided arrayObject isn't a Boolean.
+     */
+    public static BooleanArrayView viewAsBoolean(Object arrayObject) {
+        if (arrayObject instanceof boolean[] primitiveArray) return new BooleanArrayView(primitiveArray, null);
+
+        return new BooleanArrayView(null, checkElements(arrayObject, Boolean.class));
+    }
+
+    /**
+     * Checks that the provided arrayObject is an array of objects that only contains elements of the provided type.
+     */
+    private static Object[] checkElements(Object arrayObject, Class<?> elementType) {
+        if (!arrayObject.getClass().isArray()) throw new IllegalArgumentException(String.format("Provided object '%s' not an array!", arrayObject));
+        if (!(arrayObject instanceof Object[] array)) throw new ArrayStoreException(String.format("Provided array '%s' isn't an array of '%s'!", arrayObject, elementType.getName()));
 
-        for (int i = 0; i < primitiveArray.length; i++) {
-            primitiveArray[i] = wrapperArray[i];
+        for (Object element : array) {
+            if (!elementType.isInstance(element)) throw new ArrayStoreException(String.format("Element '%s' of provided array isn't of type '%s'!", element, elementType.getName()));
         }
 
-        return primitiveArray;
+        return array;
     }
 }
@@ -0,0 +1,78 @@
+package top.offsetmonkey538.offsetconfig538.util;
+
+import java.util.Objects;
+
+/**
+ * A read-only view of an array as doubles, created using {@link ArrayUtils#viewAsDouble(Object)}.
+ * <br>
+ * Wraps either an array of double or an array of Doubles without copying it, so changes to the array are visible through the view.
+ */
+public final class DoubleArrayView {
+    private final double[] primitiveArray;
+    private final Object[] wrapperArray;
+    private final int length;
+
+    DoubleArrayView(double[] primitiveArray, Object[] wrapperArray) {
+        this.primitiveArray = primitiveArray;
+        this.wrapperArray = wrapperArray;
+        this.length = primitiveArray != null ? primitiveArray.length : wrapperArray.length;
+    }
+
+    /**
+     * @return the length of the array.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Gets the element at the provided index.
+     *
+     * @param index The index of the element.
+     * @return the element at the provided index.
+     * @throws ArrayIndexOutOfBoundsException when the index is outside the array.
+     */
+    public double get(int index) {
+        if (primitiveArray != null) return primitiveArray[index];
+        return (Double) wrapperArray[index];
+    }
+
+    /**
+     * Copies all elements into the start of the provided array.
+     *
+     * @param destination The array to copy the elements into.
+     * @throws IndexOutOfBoundsException when the destination is shorter than this array.
+     */
+    public void copyInto(double[] destination) {
+        copyInto(destination, 0);
+    }
+
+    /**
+     * Copies all elements into the provided array, starting at the provided offset.
+     *
+     * @param destination The array to copy the elements into.
+     * @param offset The index in the destination to copy the first element to.
+     * @throws IndexOutOfBoundsException when the elements don't fit into the destination at the offset.
+     */
+    public void copyInto(double[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, length, destination.length);
+
+        if (primitiveArray != null) {
+            System.arraycopy(primitiveArray, 0, destination, offset, length);
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            destination[offset + i] = (Double) wrapperArray[i];
+        }
+    }
+
+    /**
+     * @return a new array containing all elements.
+     */
+    public double[] toArray() {
+        final double[] result = new double[length];
+        copyInto(result);
+        return result;
+    }
+}
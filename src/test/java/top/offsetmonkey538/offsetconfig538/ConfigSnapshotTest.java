@@ -0,0 +1,87 @@
+package top.offsetmonkey538.offsetconfig538;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfigSnapshotTest {
+
+    @Test
+    public void snapshotParsedConfig() throws OffsetConfigException {
+        String config = """
+                # A block containing an integer
+                iHaveAnInteger:
+                    anInteger = 1234
+                aString = "Hello, World!"
+                aFloat = 12.34
+                """;
+        Map<String, ConfigEntryWithComment> entries = new OffsetConfig538().getParser().parse(config);
+
+        ConfigSnapshot snapshot = ConfigSnapshot.of(entries);
+
+        assertEquals(entries.size(), snapshot.size());
+        assertEquals(1234, snapshot.get("iHaveAnInteger.anInteger"));
+        assertEquals("Hello, World!", snapshot.get("aString", String.class, "Default"));
+        assertEquals("Default", snapshot.get("missingString", String.class, "Default"));
+        assertEquals("A block containing an integer", snapshot.getComment("iHaveAnInteger"));
+        assertTrue(snapshot.contains("aFloat"));
+        assertFalse(snapshot.contains("anInteger"));
+        assertNull(snapshot.get("anInteger"));
+        assertThrows(ClassCastException.class, () -> snapshot.get("aFloat", String.class, null));
+
+        List<String> keys = new ArrayList<>();
+        snapshot.forEach((key, value) -> keys.add(key));
+        assertEquals(List.copyOf(entries.keySet()), keys);
+        assertEquals(List.copyOf(entries.entrySet()), List.copyOf(snapshot.toMap().entrySet()));
+    }
+
+    @Test
+    public void arraysCantBeChanged() {
+        int[] intArray = new int[] {1, 2};
+        Object[] nestedArray = new Object[] {new int[] {3}, "Hello"};
+        Map<String, ConfigEntryWithComment> entries = new LinkedHashMap<>();
+        entries.put("intArray", new ConfigEntryWithComment(intArray));
+        entries.put("nestedArray", new ConfigEntryWithComment(nestedArray));
+
+        ConfigSnapshot snapshot = ConfigSnapshot.of(entries);
+
+        // Changing the entries the snapshot was created from doesn't change it.
+        intArray[0] = 100;
+        ((int[]) nestedArray[0])[0] = 100;
+        assertArrayEquals(new int[] {1, 2}, (int[]) snapshot.get("intArray"));
+        assertArrayEquals(new int[] {3}, (int[]) ((Object[]) snapshot.get("nestedArray"))[0]);
+
+        // Neither does changing the arrays it returns.
+        snapshot.get("intArray", int[].class, null)[1] = 100;
+        ((int[]) ((Object[]) snapshot.get("nestedArray"))[0])[0] = 100;
+        snapshot.forEach((key, value) -> {
+            if (value instanceof Object[] array) array[1] = "World";
+        });
+        ((int[]) snapshot.toMap().get("intArray").value())[0] = 100;
+        assertArrayEquals(new int[] {1, 2}, (int[]) snapshot.get("intArray"));
+        assertArrayEquals(new int[] {3}, (int[]) ((Object[]) snapshot.get("nestedArray"))[0]);
+        assertEquals("Hello", ((Object[]) snapshot.get("nestedArray"))[1]);
+    }
+
+    @Test
+    public void snapshotManyEntries() {
+        Map<String, ConfigEntryWithComment> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.put("key" + i, new ConfigEntryWithComment(i));
+        }
+
+        ConfigSnapshot snapshot = ConfigSnapshot.of(entries);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, snapshot.get("key" + i));
+        }
+        assertNull(snapshot.get("key1000"));
+        assertEquals(0, ConfigSnapshot.empty().size());
+        assertNull(ConfigSnapshot.empty().get("key0"));
+    }
+}
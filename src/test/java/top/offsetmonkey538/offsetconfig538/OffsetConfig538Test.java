@@ -0,0 +1,108 @@
+package top.offsetmonkey538.offsetconfig538;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObject;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+import top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigSerializer;
+import top.offsetmonkey538.offsetconfig538.serialization.RecordSerializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffsetConfig538Test {
+
+    @Test
+    public void resolveSerializers() {
+        OffsetConfig538 offsetConfig538 = new OffsetConfig538();
+        ShapeSerializer shapeSerializer = new ShapeSerializer();
+        BaseSerializer baseSerializer = new BaseSerializer();
+
+        assertNull(offsetConfig538.getSerializerByTypeClass(Square.class));
+        assertSame(RecordSerializer.of(VeryCoolObject.class), offsetConfig538.getSerializerByTypeClass(VeryCoolObject.class));
+
+        offsetConfig538.addSerializer(shapeSerializer);
+        assertSame(shapeSerializer, offsetConfig538.getSerializerByTypeClass(Square.class));
+        assertSame(shapeSerializer, offsetConfig538.getSerializerByTypeClass(Shape.class));
+        assertNull(offsetConfig538.getSerializerByTypeClass(String.class));
+
+        // Superclasses win over interfaces.
+        offsetConfig538.addSerializer(baseSerializer);
+        assertSame(baseSerializer, offsetConfig538.getSerializerByTypeClass(Square.class));
+        assertSame(shapeSerializer, offsetConfig538.getSerializerByTypeClass(Shape.class));
+    }
+
+    @Test
+    public void generateSubclass() throws OffsetConfigException {
+        String expectedOutput = """
+                aShape = TShape {
+                    size = 1234
+                }
+                """;
+        OffsetConfig538 offsetConfig538 = new OffsetConfig538().addSerializer(new ShapeSerializer());
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("aShape", new Square(1234));
+
+        String actualOutput = offsetConfig538.getGenerator().generateFromObjects(input);
+        assertEquals(expectedOutput, actualOutput);
+
+        assertEquals(1234, ((Shape) offsetConfig538.getParser().parseWithoutComments(actualOutput).get("aShape")).size());
+    }
+
+    @Test
+    public void findTypeClass() {
+        assertSame(Shape.class, new ShapeSerializer().getTypeClass());
+        assertSame(Base.class, new BaseSerializer().getTypeClass());
+        assertThrows(OffsetConfigException.class, () -> new ShapeSerializer().serializeFromObject(new LinkedHashMap<>(), "Hello, World!"));
+    }
+
+    public interface Shape {
+        int size();
+    }
+
+    public static class Base {
+
+    }
+
+    public static class Square extends Base implements Shape {
+        private final int size;
+
+        public Square(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    public static class ShapeSerializer implements OffsetConfigSerializer<Shape> {
+        @Override
+        public Shape deserialize(Map<String, Object> entries) {
+            return new Square((Integer) entries.get("size"));
+        }
+
+        @Override
+        public void serialize(Map<String, Object> entries, Shape value) {
+            entries.put("size", value.size());
+        }
+
+        @Override
+        public String getType() {
+            return "Shape";
+        }
+    }
+
+    public static class BaseSerializer implements OffsetConfigSerializer<Base> {
+        @Override
+        public Base deserialize(Map<String, Object> entries) {
+            return new Base();
+        }
+
+        @Override
+        public void serialize(Map<String, Object> entries, Base value) {
+
+        }
+    }
+}
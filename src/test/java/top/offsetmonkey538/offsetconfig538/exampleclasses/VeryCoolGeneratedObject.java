@@ -0,0 +1,70 @@
+package top.offsetmonkey538.offsetconfig538.exampleclasses;
+
+import java.util.Arrays;
+import java.util.Objects;
+import top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigType;
+
+@OffsetConfigType("VeryCoolGeneratedObject")
+public record VeryCoolGeneratedObject(int anInteger, Long aLong, double aDouble, boolean aBoolean, String aString, int[] intArray, String[] stringArray, VeryCoolObject anObject) {
+
+    @OffsetConfigType
+    public static class Settings {
+        public static final String NOT_SERIALIZED = "Hello, World!";
+
+        public float aFloat;
+        public Integer anInteger;
+        public long[] longArray;
+        transient int alsoNotSerialized;
+
+        public Settings() {
+
+        }
+
+        public Settings(float aFloat, Integer anInteger, long[] longArray) {
+            this.aFloat = aFloat;
+            this.anInteger = anInteger;
+            this.longArray = longArray;
+        }
+
+        // Just so the test actually compares the objects correctly.
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Settings that = (Settings) o;
+
+            if (aFloat != that.aFloat) return false;
+            if (anInteger == null ? that.anInteger != null : !anInteger.equals(that.anInteger)) return false;
+            return Arrays.equals(longArray, that.longArray);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hash(aFloat, anInteger) + Arrays.hashCode(longArray);
+        }
+    }
+
+    // Just so the test actually compares the objects correctly.
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        VeryCoolGeneratedObject that = (VeryCoolGeneratedObject) o;
+
+        if (anInteger != that.anInteger || aDouble != that.aDouble || aBoolean != that.aBoolean) return false;
+        if (aLong == null ? that.aLong != null : !aLong.equals(that.aLong)) return false;
+        if (aString == null ? that.aString != null : !aString.equals(that.aString)) return false;
+        if (anObject == null ? that.anObject != null : !anObject.equals(that.anObject)) return false;
+        if (!Arrays.equals(intArray, that.intArray)) return false;
+        return Arrays.equals(stringArray, that.stringArray);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(anInteger, aLong, aDouble, aBoolean, aString, anObject);
+        result = 31 * result + Arrays.hashCode(intArray);
+        return 31 * result + Arrays.hashCode(stringArray);
+    }
+}
@@ -0,0 +1,133 @@
+package top.offsetmonkey538.offsetconfig538.generation;
+
+import org.junit.jupiter.api.Test;
+import top.offsetmonkey538.offsetconfig538.ConfigEntryWithComment;
+import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
+import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObjectWithArray;
+import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObjectWithObject;
+import top.offsetmonkey538.offsetconfig538.generating.ConfigSaver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConfigSaverTest {
+    private static final OffsetConfig538 offsetConfig538 = new OffsetConfig538();
+
+    @Test
+    public void coalesceSaves() throws IOException {
+        Path directory = Files.createTempDirectory("offsetconfig538");
+        Path file = directory.resolve("config.txt");
+
+        try {
+            CompletableFuture<Void> firstSave;
+            CompletableFuture<Void> secondSave;
+            // Long enough that the saves are only written when closing.
+            try (ConfigSaver saver = new ConfigSaver(offsetConfig538, Duration.ofMinutes(1), true)) {
+                firstSave = saver.save(file, Map.of("anInteger", new ConfigEntryWithComment("", 1234)));
+                secondSave = saver.save(file, Map.of("anInteger", new ConfigEntryWithComment("", 4321)));
+            }
+
+            assertSame(firstSave, secondSave);
+            assertTrue(secondSave.isDone());
+            assertEquals("anInteger = 4321" + System.lineSeparator(), Files.readString(file));
+            // The temporary file was moved to the file.
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(List.of(file), files.toList());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void keepUnrelatedTemporaryFile() throws IOException, ExecutionException, InterruptedException {
+        Path directory = Files.createTempDirectory("offsetconfig538");
+        Path file = directory.resolve("config.txt");
+        Path userFile = directory.resolve("config.txt.tmp");
+        Files.writeString(userFile, "Not a config");
+
+        try (ConfigSaver saver = new ConfigSaver(offsetConfig538, Duration.ofMinutes(1), false)) {
+            CompletableFuture<Void> save = saver.save(file, Map.of("anInteger", new ConfigEntryWithComment("", 1234)));
+            saver.flush().get();
+
+            assertTrue(save.isDone());
+            assertEquals("anInteger = 1234" + System.lineSeparator(), Files.readString(file));
+            assertEquals("Not a config", Files.readString(userFile));
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(2, files.count());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(userFile);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void useSerializersAddedLater() throws IOException, ExecutionException, InterruptedException {
+        Path directory = Files.createTempDirectory("offsetconfig538");
+        Path file = directory.resolve("config.txt");
+        OffsetConfig538 offsetConfig538 = new OffsetConfig538().addSerializer(
+                new VeryCoolObjectWithObject.VeryCoolObjectSerializer(),
+                new VeryCoolObjectWithArray.VeryCoolObjectWithArraySerializer()
+        );
+        Map<String, ConfigEntryWithComment> entries = Map.of("anObject", new ConfigEntryWithComment("", new VeryCoolObjectWithObject(1234, new VeryCoolObjectWithArray(new int[] {1}, new String[] {"Hello"}))));
+
+        try (ConfigSaver saver = new ConfigSaver(offsetConfig538, Duration.ofMinutes(1), false)) {
+            saver.save(file, entries);
+            saver.flush().get();
+            assertTrue(Files.readString(file).contains("coolObject = Ttop.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObjectWithArray {"));
+
+            // Adding a serializer replaces the generator, whose written types are cached, so the saver has to use the new one.
+            offsetConfig538.addSerializer(new VeryCoolObjectWithArray.VeryCoolObjectWithArraySerializer() {
+                @Override
+                public String getType() {
+                    return "RenamedObject";
+                }
+            });
+            saver.save(file, entries);
+            saver.flush().get();
+            assertTrue(Files.readString(file).contains("coolObject = TRenamedObject {"));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void flushAndFailedSave()throws IOException, ExecutionException, InterruptedException {
+        Path directory = Files.createTempDirectory("offsetconfig538");
+        Path file = directory.resolve("config.txt");
+
+        try (ConfigSaver saver = new ConfigSaver(offsetConfig538, Duration.ofMinutes(1), false)) {
+            CompletableFuture<Void> save = saver.save(file, Map.of("aString", new ConfigEntryWithComment("", "Hello, World!")));
+            saver.flush().get();
+
+            assertTrue(save.isDone());
+            assertEquals("aString = \"Hello, World!\"" + System.lineSeparator(), Files.readString(file));
+
+            // There's no serializer for objects, so generating fails and the file stays the same.
+            CompletableFuture<Void> failedSave = saver.save(file, Map.of("anObject", new ConfigEntryWithComment("", new Object())));
+            saver.flush();
+
+            assertThrows(ExecutionException.class, failedSave::get);
+            assertEquals("aString = \"Hello, World!\"" + System.lineSeparator(), Files.readString(file));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+}
@@ -1,5 +1,13 @@
 package top.offsetmonkey538.offsetconfig538.generation;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
@@ -8,7 +16,10 @@ import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObject;
 import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObjectWithArray;
 import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObjectWithObject;
 import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+import top.offsetmonkey538.offsetconfig538.parsing.IncrementalConfig;
+import top.offsetmonkey538.offsetconfig538.serialization.OffsetConfigSerializer;
 import top.offsetmonkey538.offsetconfig538.ConfigEntryWithComment;
+import top.offsetmonkey538.offsetconfig538.ConfigNode;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,6 +45,28 @@ public class GeneratorTest {
         runTest(input, expectedOutput);
     }
 
+    @Test
+    public void generateNumberValues() throws OffsetConfigException {
+        String expectedOutput = """
+                aNegativeInteger = -1234
+                aLong = 1234L
+                aNegativeFloat = -12.34
+                aDouble = 12.34D
+                longArray = Tlong [
+                    1234
+                    -12345678901
+                ]
+                """;
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("aNegativeInteger", -1234);
+        input.put("aLong", 1234L);
+        input.put("aNegativeFloat", -12.34f);
+        input.put("aDouble", 12.34);
+        input.put("longArray", new long[] {1234L, -12345678901L});
+
+        runTest(input, expectedOutput);
+    }
+
     @Test
     public void generateBasicValuesWithComments() throws OffsetConfigException {
         String expectedOutput = """
@@ -622,6 +655,275 @@ public class GeneratorTest {
 
 
 
+    @Test
+    public void generateTree() throws OffsetConfigException {
+        String expectedOutput = """
+                # A block containing an integer
+                iHaveAnInteger:
+                    anInteger = 1234
+                    iHaveAFloat:
+                        # A float value
+                        aFloat = 12.34
+                aString = "Hello, World!"
+                """;
+        ConfigNode root = new ConfigNode();
+        ConfigNode block = root.getOrCreateChild("iHaveAnInteger").setComment("A block containing an integer");
+        block.getOrCreateChild("anInteger").setValue(1234);
+        block.getOrCreateChild("iHaveAFloat").getOrCreateChild("aFloat").setComment("A float value").setValue(12.34f);
+        root.getOrCreateChild("aString").setValue("Hello, World!");
+
+        assertEquals(expectedOutput, offsetConfig538.getGenerator().generate(root));
+    }
+
+    @Test
+    public void generateToWriter() throws OffsetConfigException, IOException {
+        String expectedOutput = """
+                # A block containing an object
+                iHaveAnObject:
+                    veryCoolObject = Ttop.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObjectWithArray {
+                        firstArray = Tint [
+                            1234
+                            4321
+                        ]
+                        secondArray = Tstring [
+                            "Hello"
+                        ]
+                    }
+                aString = "Hello, World!"
+                """;
+        Map<String, ConfigEntryWithComment> input = new LinkedHashMap<>();
+        input.put("iHaveAnObject", new ConfigEntryWithComment("A block containing an object"));
+        input.put("iHaveAnObject.veryCoolObject", new ConfigEntryWithComment(new VeryCoolObjectWithArray(new int[] {1234, 4321}, new String[] {"Hello"})));
+        input.put("aString", new ConfigEntryWithComment("", "Hello, World!"));
+
+        offsetConfig538.addSerializer(new VeryCoolObjectWithArray.VeryCoolObjectWithArraySerializer());
+        StringWriter writer = new StringWriter();
+        offsetConfig538.getGenerator().generate(input, writer);
+
+        assertEquals(expectedOutput, writer.toString());
+        assertEquals(expectedOutput, offsetConfig538.getGenerator().generateFromConfigEntries(input));
+    }
+
+    @Test
+    public void generateToChannelAndFile() throws OffsetConfigException, IOException {
+        Map<String, ConfigEntryWithComment> input = new LinkedHashMap<>();
+        input.put("aString", new ConfigEntryWithComment("A string with \u00e4, \u20ac and \ud83d\ude00", "Hello, W\u00f6rld! \ud83d\ude00"));
+        input.put("aBlock.aLongString", new ConfigEntryWithComment("", "Hello, World! ".repeat(100)));
+        input.put("aBlock.stringArray", new ConfigEntryWithComment("", new String[] {"\u00e4\u00f6\u00fc", "Hello"}));
+        byte[] expectedOutput = offsetConfig538.getGenerator().generateFromConfigEntries(input).getBytes(StandardCharsets.UTF_8);
+
+        // A small buffer, so characters are split between writes.
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        offsetConfig538.getGenerator().generate(input, Channels.newChannel(outputStream), ByteBuffer.allocate(5));
+        assertArrayEquals(expectedOutput, outputStream.toByteArray());
+
+        Path file = Files.createTempFile("offsetconfig538", ".txt");
+        try {
+            Files.writeString(file, "Content that should be replaced. ".repeat(1000));
+            offsetConfig538.getGenerator().generate(input, file);
+
+            assertArrayEquals(expectedOutput, Files.readAllBytes(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void generateNumberArraysToChannel() throws OffsetConfigException, IOException {
+        String expectedOutput = """
+                intArray = Tint [
+                    0
+                    -7
+                    2147483647
+                    -2147483648
+                ]
+                longArray = Tlong [
+                    9223372036854775807
+                    -9223372036854775808
+                    1234567890123
+                ]
+                doubleArray = Tdouble [
+                    -0.5
+                    1.0E20
+                ]
+                """;
+        Map<String, ConfigEntryWithComment> input = new LinkedHashMap<>();
+        input.put("intArray", new ConfigEntryWithComment("", new int[] {0, -7, Integer.MAX_VALUE, Integer.MIN_VALUE}));
+        input.put("longArray", new ConfigEntryWithComment("", new long[] {Long.MAX_VALUE, Long.MIN_VALUE, 1234567890123L}));
+        input.put("doubleArray", new ConfigEntryWithComment("", new double[] {-0.5, 1e20}));
+
+        assertEquals(expectedOutput, offsetConfig538.getGenerator().generateFromConfigEntries(input));
+
+        // A small buffer, so numbers are split between writes.
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        offsetConfig538.getGenerator().generate(input, Channels.newChannel(outputStream), ByteBuffer.allocate(21));
+        assertEquals(expectedOutput, outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void generateLongArrayToSmallBuffer() throws OffsetConfigException, IOException {
+        String expectedOutput = """
+                longArray = Tlong [
+                    1234567890123456789
+                    -7
+                ]
+                """;
+        Map<String, ConfigEntryWithComment> input = new LinkedHashMap<>();
+        input.put("longArray", new ConfigEntryWithComment("", new long[] {1234567890123456789L, -7}));
+
+        // Smaller than the digits of the first number.
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        offsetConfig538.getGenerator().generate(input, Channels.newChannel(outputStream), ByteBuffer.allocate(8));
+        assertEquals(expectedOutput, outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void patchChangedValue() throws OffsetConfigException {
+        String source = """
+                # Settings for the server
+                server:
+                    # The port
+                    port  =  25565
+                    motd = "Hello"
+
+                    whitelist = Tstring [
+                        "someone"
+                    ]
+                # Whether cheats are on
+                cheats = false
+                """;
+        IncrementalConfig config = offsetConfig538.getParser().parseIncremental(source);
+
+        Map<String, ConfigEntryWithComment> input = new LinkedHashMap<>(config.getEntries());
+        assertSame(source, offsetConfig538.getGenerator().patch(config, input));
+
+        input.put("cheats", new ConfigEntryWithComment("Whether cheats are on", true));
+        assertEquals(source.replace("cheats = false", "cheats = true"), offsetConfig538.getGenerator().patch(config, input));
+    }
+
+    @Test
+    public void patchChangedStructure() throws OffsetConfigException {
+        String source = """
+                # Settings for the server
+                server:
+                    # The port
+                    port  =  25565
+                    motd = "Hello"
+
+                    whitelist = Tstring [
+                        "someone"
+                    ]
+                # Whether cheats are on
+                cheats = false""";
+        String expectedOutput = """
+                # Settings for the server
+                server:
+                    # The server port
+                    port  =  25565
+
+                    whitelist = Tstring [
+                        "someone"
+                        "else"
+                    ]
+                    maxPlayers = 20
+                # Whether cheats are on
+                cheats = false
+                world:
+                    # The seed
+                    seed = 1234L
+                """;
+        IncrementalConfig config = offsetConfig538.getParser().parseIncremental(source);
+
+        Map<String, ConfigEntryWithComment> input = new LinkedHashMap<>(config.getEntries());
+        input.remove("server.motd");
+        input.put("server.port", new ConfigEntryWithComment("The server port", 25565));
+        input.put("server.whitelist", new ConfigEntryWithComment("The port", new String[] {"someone", "else"}));
+        input.put("server.maxPlayers", new ConfigEntryWithComment("", 20));
+        input.put("world.seed", new ConfigEntryWithComment("The seed", 1234L));
+
+        assertEquals(expectedOutput, offsetConfig538.getGenerator().patch(config, input));
+    }
+
+    @Test
+    public void patchRemovedNestedBlock() throws OffsetConfigException {
+        String source = """
+                a:
+                    # c2
+                    b:
+                        y = 2
+                    z = 1
+                q = 3
+                """;
+        IncrementalConfig config = offsetConfig538.getParser().parseIncremental(source);
+
+        Map<String, ConfigEntryWithComment> input = new LinkedHashMap<>(config.getEntries());
+        input.remove("a");
+        input.remove("a.b");
+        input.remove("a.b.y");
+        input.remove("a.z");
+
+        assertEquals("q = 3\n", offsetConfig538.getGenerator().patch(config, input));
+    }
+
+    @Test
+    public void generateObjectsWithDifferentEntries() throws OffsetConfigException {
+        String expectedOutput = """
+                points = TPoint [
+                    {
+                        x = 1
+                        y = 2
+                    }
+                    {
+                        x = 3
+                    }
+                    {
+                        y = 4L
+                        x = 5
+                    }
+                    {
+                        x = 6
+                        y = 7
+                    }
+                ]
+                """;
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("points", new Point[] {new Point(1, 2), new Point(3, null), new Point(5, 4L), new Point(6, 7)});
+
+        OffsetConfig538 offsetConfig538 = new OffsetConfig538().addSerializer(new PointSerializer());
+        // Generate twice, so the second time uses the compiled plan for every point.
+        offsetConfig538.getGenerator().generateFromObjects(input);
+        assertEquals(expectedOutput, offsetConfig538.getGenerator().generateFromObjects(input));
+    }
+
+    private record Point(int x, Object y) {
+
+    }
+
+    private static class PointSerializer implements OffsetConfigSerializer<Point> {
+        @Override
+        public Point deserialize(Map<String, Object> entries) {
+            return new Point((Integer) entries.get("x"), entries.get("y"));
+        }
+
+        @Override
+        public void serialize(Map<String, Object> entries, Point value) {
+            // Longs are put first, so the order of the entries isn't always the same.
+            if (value.y() instanceof Long) entries.put("y", value.y());
+            entries.put("x", value.x());
+            if (value.y() instanceof Integer) entries.put("y", value.y());
+        }
+
+        @Override
+        public Class<?> getTypeClass() {
+            return Point.class;
+        }
+
+        @Override
+        public String getType() {
+            return "Point";
+        }
+    }
+
     private void runTest(Map<String, Object> input, String expectedOutput) throws OffsetConfigException {
         String actualOutput = offsetConfig538.getGenerator().generateFromObjects(input);
 
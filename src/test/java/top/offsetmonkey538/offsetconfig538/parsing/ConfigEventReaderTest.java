@@ -0,0 +1,116 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+import org.junit.jupiter.api.Test;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static top.offsetmonkey538.offsetconfig538.parsing.ConfigEvent.*;
+
+public class ConfigEventReaderTest {
+
+    @Test
+    public void readEvents() throws OffsetConfigException {
+        String config = """
+                # A block
+                iHaveValues:
+                    anInteger = 1234
+                    iHaveAFloat:
+                        aFloat = 12.34
+                    integerArray = Tint [
+                        1234
+                        4321
+                    ]
+                aString = "Hello, World!"
+                myObjectArray = TVeryCoolObject [
+                    {
+                        anInteger = 1234
+                    }
+                ]
+                veryCoolObject = TVeryCoolObject {
+                    aTrueBoolean = true
+                }
+                iAmTheLastBlock:
+                    aFalseBoolean = false
+                """;
+        List<String> expectedEvents = List.of(
+                "COMMENT A block",
+                "BLOCK_START iHaveValues",
+                "ENTRY anInteger 1234",
+                "BLOCK_START iHaveAFloat",
+                "ENTRY aFloat 12.34",
+                "BLOCK_END",
+                "ARRAY_START integerArray int",
+                "VALUE 1234",
+                "VALUE 4321",
+                "ARRAY_END",
+                "BLOCK_END",
+                "ENTRY aString Hello, World!",
+                "ARRAY_START myObjectArray VeryCoolObject",
+                "OBJECT_START VeryCoolObject",
+                "ENTRY anInteger 1234",
+                "OBJECT_END",
+                "ARRAY_END",
+                "OBJECT_START veryCoolObject VeryCoolObject",
+                "ENTRY aTrueBoolean true",
+                "OBJECT_END",
+                "BLOCK_START iAmTheLastBlock",
+                "ENTRY aFalseBoolean false",
+                "BLOCK_END",
+                "END_DOCUMENT"
+        );
+
+        assertEquals(expectedEvents, readAll(new ConfigEventReader(config)));
+    }
+
+    @Test
+    public void readSingleValue() throws OffsetConfigException {
+        String config = """
+                iHaveAnInteger:
+                    anInteger = 1234
+                anotherInteger = 4321
+                """;
+        ConfigEventReader reader = new ConfigEventReader(config);
+
+        Object value = null;
+        while (reader.hasNext()) {
+            if (reader.next() == ENTRY && reader.getKey().equals("anotherInteger")) {
+                value = reader.getValue();
+                break;
+            }
+        }
+
+        assertEquals(4321, value);
+    }
+
+    @Test
+    public void unclosedArray() {
+        String config = """
+                integerArray = Tint [
+                    1234
+                """;
+
+        assertThrows(OffsetConfigException.class, () -> readAll(new ConfigEventReader(config)));
+    }
+
+    private static List<String> readAll(ConfigEventReader reader) throws OffsetConfigException {
+        List<String> events = new ArrayList<>();
+
+        while (reader.hasNext()) {
+            ConfigEvent event = reader.next();
+            StringBuilder builder = new StringBuilder(event.name());
+
+            if (reader.getComment() != null) builder.append(" ").append(reader.getComment());
+            if (reader.getKey() != null) builder.append(" ").append(reader.getKey());
+            if (reader.getType() != null) builder.append(" ").append(reader.getType());
+            if (reader.getValue() != null) builder.append(" ").append(reader.getValue());
+
+            events.add(builder.toString());
+        }
+
+        return events;
+    }
+}
@@ -0,0 +1,134 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+import org.junit.jupiter.api.Test;
+import top.offsetmonkey538.offsetconfig538.ConfigSnapshot;
+import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConfigWatcherTest {
+    private static final OffsetConfig538 offsetConfig538 = new OffsetConfig538();
+
+    @Test
+    public void reloadChangedFile() throws OffsetConfigException, IOException, InterruptedException, ExecutionException, TimeoutException {
+        Path directory = Files.createTempDirectory("offsetconfig538");
+        Path file = directory.resolve("config.txt");
+        Files.writeString(file, "anInteger = 1234\n");
+
+        try (ConfigWatcher watcher = new ConfigWatcher(offsetConfig538.getParser(), Duration.ofMillis(50))) {
+            ConfigWatcher.WatchedConfig config = watcher.watch(file);
+            assertSame(config, watcher.watch(file));
+            assertEquals(1234, config.get().get("anInteger"));
+
+            CompletableFuture<ConfigSnapshot> reloaded = new CompletableFuture<>();
+            config.addListener(reloaded::complete);
+
+            Files.writeString(file, "anInteger = 4321\n");
+
+            ConfigSnapshot snapshot = reloaded.get(30, TimeUnit.SECONDS);
+            assertEquals(4321, snapshot.get("anInteger"));
+            assertSame(snapshot, config.get());
+            assertNull(config.getLastFailure());
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void keepContentWhenReloadFails() throws OffsetConfigException, IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("offsetconfig538");
+        Path file = directory.resolve("config.txt");
+        Files.writeString(file, "anInteger = 1234\n");
+
+        try (ConfigWatcher watcher = new ConfigWatcher(offsetConfig538.getParser(), Duration.ofMillis(50))) {
+            ConfigWatcher.WatchedConfig config = watcher.watch(file);
+            ConfigSnapshot snapshot = config.get();
+
+            Files.writeString(file, "anInteger = Tint [\n");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (config.getLastFailure() == null && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertTrue(config.getLastFailure() instanceof OffsetConfigException);
+            assertSame(snapshot, config.get());
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void unwatchDirectoryWhenParsingFails() throws OffsetConfigException, IOException {
+        Path directory = Files.createTempDirectory("offsetconfig538").toAbsolutePath().normalize();
+        Path brokenFile = directory.resolve("broken.txt");
+        Path file = directory.resolve("config.txt");
+        Files.writeString(brokenFile, "anInteger = Tint [\n");
+        Files.writeString(file, "anInteger = 1234\n");
+
+        try (ConfigWatcher watcher = new ConfigWatcher(offsetConfig538.getParser(), Duration.ofMillis(50))) {
+            assertThrows(OffsetConfigException.class, () -> watcher.watch(brokenFile));
+            assertFalse(watcher.isWatching(directory));
+
+            // A directory with a watched file stays watched.
+            watcher.watch(file);
+            assertThrows(OffsetConfigException.class, () -> watcher.watch(brokenFile));
+            assertTrue(watcher.isWatching(directory));
+        } finally {
+            Files.deleteIfExists(brokenFile);
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void closeFromListener() throws OffsetConfigException, IOException, InterruptedException, ExecutionException, TimeoutException {
+        Path directory = Files.createTempDirectory("offsetconfig538");
+        Path file = directory.resolve("config.txt");
+        Files.writeString(file, "anInteger = 1234\n");
+
+        try (ConfigWatcher watcher = new ConfigWatcher(offsetConfig538.getParser(), Duration.ofMillis(50))) {
+            ConfigWatcher.WatchedConfig config = watcher.watch(file);
+
+            CompletableFuture<Void> closed = new CompletableFuture<>();
+            config.addListener(snapshot -> {
+                watcher.close();
+                closed.complete(null);
+            });
+
+            Files.writeString(file, "anInteger = 4321\n");
+
+            // Closing from the reloader thread doesn't wait for the reload calling it.
+            closed.get(30, TimeUnit.SECONDS);
+            assertThrows(IllegalStateException.class, () -> watcher.watch(file));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void watchAfterClose() throws IOException {
+        ConfigWatcher watcher = new ConfigWatcher(offsetConfig538.getParser(), Duration.ofMillis(50));
+        watcher.close();
+
+        assertThrows(IllegalStateException.class, () -> watcher.watch(Path.of("config.txt")));
+    }
+}
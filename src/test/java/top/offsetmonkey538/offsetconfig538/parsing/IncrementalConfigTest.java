@@ -0,0 +1,142 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+import org.junit.jupiter.api.Test;
+import top.offsetmonkey538.offsetconfig538.ConfigEntryWithComment;
+import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
+import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObject;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IncrementalConfigTest {
+    private static final String CONFIG = """
+            # A block containing an integer
+            iHaveAnInteger:
+                anInteger = 1234
+                integerArray = Tint [
+                    1234
+                    4321
+                ]
+            # A very cool object
+            veryCoolObject = TVeryCoolObject {
+                anInteger = 1234
+                aFloat = 12.34
+                aTrueBoolean = true
+                aFalseBoolean = false
+                aString = "Hello, World!"
+            }
+
+            aString = "Hello, World!"
+            iAmTheLastBlock:
+                aFalseBoolean = false
+            """;
+
+    private final Parser parser = new OffsetConfig538().addSerializer(new VeryCoolObject.VeryCoolObjectSerializer()).getParser();
+
+    @Test
+    public void reparseValueChange() throws OffsetConfigException {
+        IncrementalConfig config = parser.parseIncremental(CONFIG);
+        int offset = CONFIG.indexOf("\"Hello, World!\"\niAmTheLastBlock");
+
+        IncrementalConfig edited = assertReparse(config, new TextEdit(offset + 1, 5, "Goodbye"));
+
+        assertEquals("Goodbye, World!", edited.getEntries().get("aString").value());
+        assertSame(config.getEntries().get("veryCoolObject").value(), edited.getEntries().get("veryCoolObject").value());
+    }
+
+    @Test
+    public void reparseStructuralChanges() throws OffsetConfigException {
+        IncrementalConfig config = parser.parseIncremental(CONFIG);
+
+        // Add an entry to a block.
+        assertReparse(config, new TextEdit(CONFIG.indexOf("    integerArray"), 0, "    aLong = 5L\n"));
+        // Add a value to an array.
+        assertReparse(config, new TextEdit(CONFIG.indexOf("        4321"), 0, "        1\n        2\n"));
+        // Indent a top-level entry into the block before it.
+        assertReparse(config, new TextEdit(CONFIG.indexOf("aString = \"Hello, World!\"\niAm"), 0, "    "));
+        // Turn an entry into a block.
+        assertReparse(config, new TextEdit(CONFIG.indexOf("aString = \"Hello, World!\"\niAm"), 0, "newBlock:\n    "));
+        // Remove a block.
+        assertReparse(config, new TextEdit(CONFIG.indexOf("# A block"), CONFIG.indexOf("# A very"), ""));
+        // Open an array that contains everything after it.
+        assertReparse(config, new TextEdit(CONFIG.indexOf("\naString"), 0, "\narray = Tstring ["));
+    }
+
+    @Test
+    public void reparseCommentChange() throws OffsetConfigException {
+        IncrementalConfig config = parser.parseIncremental(CONFIG);
+
+        // The entries after the object don't have their own comment, so they get this one too.
+        IncrementalConfig edited = assertReparse(config, new TextEdit(CONFIG.indexOf("very cool object"), 5, ""));
+
+        assertEquals("A cool object", edited.getEntries().get("iAmTheLastBlock.aFalseBoolean").comment());
+    }
+
+    @Test
+    public void reparseInvalidEdit() throws OffsetConfigException {
+        IncrementalConfig config = parser.parseIncremental(CONFIG);
+
+        assertThrows(OffsetConfigException.class, () -> parser.reparse(config, new TextEdit(CONFIG.indexOf("    ]"), 5, "")));
+    }
+
+    @Test
+    public void reparseIndentedEntryAfterEdit() throws OffsetConfigException {
+        // Turn an entry into a block, which the indented entry after it then belongs to.
+        IncrementalConfig config = parser.parseIncremental("a = 1\n    b = 2\n");
+        IncrementalConfig edited = assertReparse(config, new TextEdit(1, 4, ":"));
+        assertEquals(List.of("a", "a.b"), List.copyOf(edited.getEntries().keySet()));
+
+        // Remove the entry between a block and an indented entry.
+        String content = "a:\n    x = 1\ny = 2\n    z = 3\n";
+        config = parser.parseIncremental(content);
+        edited = assertReparse(config, new TextEdit(content.indexOf("y = 2"), "y = 2\n".length(), ""));
+        assertEquals(List.of("a", "a.x", "a.z"), List.copyOf(edited.getEntries().keySet()));
+    }
+
+    @Test
+    public void reparseEveryOffset() throws OffsetConfigException {
+        IncrementalConfig config = parser.parseIncremental(CONFIG);
+
+        for (int offset = 0; offset <= CONFIG.length(); offset++) {
+            for (String inserted : List.of("", "\n", "    ", "#", "a = 1\n")) {
+                if (inserted.isEmpty() && offset == CONFIG.length()) continue;
+
+                assertReparse(config, new TextEdit(offset, inserted.isEmpty() ? 1 : 0, inserted));
+            }
+        }
+    }
+
+    /**
+     * Checks that re-parsing the config with the edit gives the same result as parsing the edited content.
+     */
+    private IncrementalConfig assertReparse(IncrementalConfig config, TextEdit edit) throws OffsetConfigException {
+        String content = edit.apply(config.getContent());
+
+        Map<String, ConfigEntryWithComment> expected;
+        try {
+            expected = parser.parse(content);
+        } catch (OffsetConfigException | RuntimeException e) {
+            assertThrows(e.getClass(), () -> parser.reparse(config, edit));
+            return null;
+        }
+
+        IncrementalConfig edited = parser.reparse(config, edit);
+        Map<String, ConfigEntryWithComment> actual = edited.getEntries();
+
+        assertEquals(content, edited.getContent());
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(actual.keySet()));
+        for (String key : expected.keySet()) {
+            assertEquals(expected.get(key).comment(), actual.get(key).comment());
+            assertTrue(Objects.deepEquals(expected.get(key).value(), actual.get(key).value()));
+        }
+
+        return edited;
+    }
+}
@@ -0,0 +1,85 @@
+package top.offsetmonkey538.offsetconfig538.parsing;
+
+import org.junit.jupiter.api.Test;
+import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
+import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObject;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class LazyConfigTest {
+    private static final String CONFIG = """
+            # A block containing an integer
+            iHaveAnInteger:
+                anInteger = 1234
+                integerArray = Tint [
+                    1234
+                    4321
+                ]
+            # A very cool object
+            veryCoolObject = TVeryCoolObject {
+                anInteger = 1234
+                aFloat = 12.34
+                aTrueBoolean = true
+                aFalseBoolean = false
+                aString = "Hello, World!"
+            }
+            aString = "Hello, World!"
+            """;
+
+    @Test
+    public void valuesAreDecodedOnAccess() throws OffsetConfigException {
+        CountingSerializer serializer = new CountingSerializer();
+        OffsetConfig538 offsetConfig538 = new OffsetConfig538().addSerializer(serializer);
+
+        LazyConfig config = offsetConfig538.getParser().parseLazy(CONFIG);
+
+        assertEquals(List.of("iHaveAnInteger", "iHaveAnInteger.anInteger", "iHaveAnInteger.integerArray", "veryCoolObject", "aString"), List.copyOf(config.keySet()));
+        assertEquals("A very cool object", config.getComment("veryCoolObject"));
+        assertEquals(0, serializer.deserializeCalls);
+
+        assertEquals(1234, config.get("iHaveAnInteger.anInteger"));
+        assertArrayEquals(new int[] {1234, 4321}, (int[]) config.get("iHaveAnInteger.integerArray"));
+        assertEquals("Hello, World!", config.get("aString"));
+        assertNull(config.get("iHaveAnInteger"));
+        assertEquals(0, serializer.deserializeCalls);
+
+        Object veryCoolObject = config.get("veryCoolObject");
+        assertEquals(new VeryCoolObject(1234, 12.34f, true, false, "Hello, World!"), veryCoolObject);
+        assertSame(veryCoolObject, config.get("veryCoolObject"));
+        assertEquals(1, serializer.deserializeCalls);
+    }
+
+    @Test
+    public void toMapMatchesParse() throws OffsetConfigException {
+        OffsetConfig538 offsetConfig538 = new OffsetConfig538().addSerializer(new VeryCoolObject.VeryCoolObjectSerializer());
+
+        Map<String, ?> expected = offsetConfig538.getParser().parse(CONFIG);
+        Map<String, ?> actual = offsetConfig538.getParser().parseLazy(CONFIG).toMap();
+
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(actual.keySet()));
+        assertEquals(expected.get("veryCoolObject"), actual.get("veryCoolObject"));
+        assertEquals(expected.get("iHaveAnInteger"), actual.get("iHaveAnInteger"));
+    }
+
+    private static class CountingSerializer extends VeryCoolObject.VeryCoolObjectSerializer {
+        private int deserializeCalls;
+
+        @Override
+        public VeryCoolObject deserialize(Map<String, Object> entries) {
+            deserializeCalls++;
+            return super.deserialize(entries);
+        }
+
+        @Override
+        public Class<?> getTypeClass() {
+            return VeryCoolObject.class;
+        }
+    }
+}
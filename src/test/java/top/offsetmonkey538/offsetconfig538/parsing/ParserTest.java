@@ -7,12 +7,30 @@ import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObjectWithArra
 import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObjectWithObject;
 import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
 import top.offsetmonkey538.offsetconfig538.ConfigEntryWithComment;
+import top.offsetmonkey538.offsetconfig538.ConfigNode;
 import top.offsetmonkey538.offsetconfig538.util.ArrayUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SuppressWarnings("TrailingWhitespacesInTextBlock")
 public class ParserTest {
@@ -38,6 +56,76 @@ public class ParserTest {
         runTest(config, expectedOutput);
     }
 
+    @Test
+    public void parseNumberValues() throws OffsetConfigException {
+        String config = """
+                aNegativeInteger = -1234
+                aLong = 1234L
+                aBigLong = 12345678901
+                aNegativeFloat = -12.34
+                aFloatWithExponent = 1.0E10
+                aDouble = 12.34D
+                aPreciseDouble = 0.1234567890123D
+                longArray = Tlong [
+                    1234
+                    -12345678901
+                ]
+                doubleArray = Tdouble [
+                    12.34
+                    -1
+                ]
+                """;
+        Map<String, Object> expectedOutput = Map.ofEntries(
+                Map.entry("aNegativeInteger", -1234),
+                Map.entry("aLong", 1234L),
+                Map.entry("aBigLong", 12345678901L),
+                Map.entry("aNegativeFloat", -12.34f),
+                Map.entry("aFloatWithExponent", 1.0E10f),
+                Map.entry("aDouble", 12.34),
+                Map.entry("aPreciseDouble", 0.1234567890123),
+                Map.entry("longArray", new long[] {
+                        1234L,
+                        -12345678901L
+                }),
+                Map.entry("doubleArray", new double[] {
+                        12.34,
+                        -1.0
+                })
+        );
+
+        runTest(config, expectedOutput);
+    }
+
+    @Test
+    public void parseLongLimits() throws OffsetConfigException {
+        String config = """
+                maxLong = 9223372036854775807L
+                minLong = -9223372036854775808L
+                maxLongWithoutSuffix = 9223372036854775807
+                minLongWithoutSuffix = -9223372036854775808
+                longArray = Tlong [
+                    9223372036854775807
+                    -9223372036854775808
+                ]
+                """;
+        Map<String, Object> expectedOutput = Map.ofEntries(
+                Map.entry("maxLong", Long.MAX_VALUE),
+                Map.entry("minLong", Long.MIN_VALUE),
+                Map.entry("maxLongWithoutSuffix", Long.MAX_VALUE),
+                Map.entry("minLongWithoutSuffix", Long.MIN_VALUE),
+                Map.entry("longArray", new long[] {
+                        Long.MAX_VALUE,
+                        Long.MIN_VALUE
+                })
+        );
+
+        runTest(config, expectedOutput);
+
+        assertThrows(OffsetConfigException.class, () -> offsetConfig538.getParser().parse("tooLarge = 9223372036854775808L\n"));
+        assertThrows(OffsetConfigException.class, () -> offsetConfig538.getParser().parse("tooSmall = -9223372036854775809L\n"));
+        assertThrows(OffsetConfigException.class, () -> offsetConfig538.getParser().parse("tooSmall = -92233720368547758080\n"));
+    }
+
     @Test
     public void parseBasicValuesWithComments() throws OffsetConfigException {
         String config = """
@@ -668,6 +756,281 @@ public class ParserTest {
     }
 
 
+    @Test
+    public void parseFromReaderAndInputStream() throws OffsetConfigException, IOException {
+        // Big enough for lines to cross the edges of the reader's buffer.
+        StringBuilder config = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            config.append("# Block number ").append(i).append("\r\n");
+            config.append("block").append(i).append(":\r\n");
+            config.append("    anInteger = ").append(i).append("\r\n");
+            config.append("    aString = \"").append("Hello, World! ".repeat(i % 10)).append("\"\r\n");
+            config.append("    integerArray = Tint [\r\n        1234\r\n        4321\r\n    ]\r\n");
+        }
+        // The last line doesn't end with a line ending.
+        config.append("aTrueBoolean = true");
+
+        Map<String, ConfigEntryWithComment> expectedOutput = offsetConfig538.getParser().parse(config.toString());
+        Map<String, ConfigEntryWithComment> readerOutput = offsetConfig538.getParser().parse(new StringReader(config.toString()));
+        Map<String, ConfigEntryWithComment> inputStreamOutput = offsetConfig538.getParser().parse(new ByteArrayInputStream(config.toString().getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+
+        assertEquals(expectedOutput.keySet().stream().toList(), readerOutput.keySet().stream().toList());
+        assertEquals(expectedOutput.keySet().stream().toList(), inputStreamOutput.keySet().stream().toList());
+        for (Map.Entry<String, ConfigEntryWithComment> entry : expectedOutput.entrySet()) {
+            runTestOnEntry(entry.getValue(), readerOutput.get(entry.getKey()));
+            runTestOnEntry(entry.getValue(), inputStreamOutput.get(entry.getKey()));
+        }
+        assertEquals(true, readerOutput.get("aTrueBoolean").value());
+        assertEquals("Block number 999", readerOutput.get("block999").comment());
+    }
+
+    @Test
+    public void parseMappedFile() throws OffsetConfigException, IOException {
+        String config = """
+                # \u00DCn\u00EFc\u00F6d\u00E9 comment
+                iHaveAString:
+                    aString = "H\u00EBll\u00F6, W\u00F6rld! \uD83C\uDF0D"
+                    anInteger = 1234
+                stringArray = Tstring [
+                    "\u65E5\u672C\u8A9E"
+                    "plain"
+                ]
+                """;
+        Path file = Files.createTempFile("offsetconfig538", ".txt");
+        try {
+            Files.writeString(file, config, StandardCharsets.UTF_8);
+
+            Map<String, ConfigEntryWithComment> actualOutput = offsetConfig538.getParser().parseMapped(file);
+
+            assertEquals("\u00DCn\u00EFc\u00F6d\u00E9 comment", actualOutput.get("iHaveAString").comment());
+            assertEquals("H\u00EBll\u00F6, W\u00F6rld! \uD83C\uDF0D", actualOutput.get("iHaveAString.aString").value());
+            assertEquals(1234, actualOutput.get("iHaveAString.anInteger").value());
+            runTestOnArray(new String[] {"\u65E5\u672C\u8A9E", "plain"}, actualOutput.get("stringArray").value());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void parseParallel() throws OffsetConfigException {
+        // Big enough to be split into multiple tasks.
+        StringBuilder config = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            config.append("# Block number ").append(i).append("\n");
+            config.append("block").append(i).append(":\n");
+            config.append("    anInteger = ").append(i).append("\n");
+            config.append("    nestedBlock:\n");
+            config.append("        aString = \"Hello, World!\"\n");
+            config.append("    veryCoolObject = TVeryCoolObject {\n");
+            config.append("        anInteger = ").append(i).append("\n");
+            config.append("        aFloat = 12.34\n");
+            config.append("        aTrueBoolean = true\n");
+            config.append("        aFalseBoolean = false\n");
+            config.append("        aString = \"Hello, World!\"\n");
+            config.append("    }\n");
+            config.append("    integerArray = Tint [\n        1234\n        4321\n    ]\n");
+        }
+        config.append("aTrueBoolean = true\n");
+
+        offsetConfig538.addSerializer(new VeryCoolObject.VeryCoolObjectSerializer());
+        Map<String, ConfigEntryWithComment> expectedOutput = offsetConfig538.getParser().parse(config.toString());
+        Map<String, ConfigEntryWithComment> actualOutput;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            actualOutput = offsetConfig538.getParser().parseParallel(config.toString(), pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(List.copyOf(expectedOutput.keySet()), List.copyOf(actualOutput.keySet()));
+        for (Map.Entry<String, ConfigEntryWithComment> entry : expectedOutput.entrySet()) {
+            runTestOnEntry(entry.getValue(), actualOutput.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void parseConcurrently() throws Exception {
+        String config = """
+                iHaveValues:
+                    anInteger = 1234
+                    veryCoolObject = TVeryCoolObject {
+                        anInteger = 1234
+                        aFloat = 12.34
+                        aTrueBoolean = true
+                        aFalseBoolean = false
+                        aString = "Hello, World!"
+                    }
+                    integerArray = Tint [
+                        1234
+                        4321
+                    ]
+                aString = "Hello, World!"
+                """;
+
+        offsetConfig538.addSerializer(new VeryCoolObject.VeryCoolObjectSerializer());
+        Parser parser = offsetConfig538.getParser();
+        assertSame(parser, offsetConfig538.getParser());
+
+        Map<String, ConfigEntryWithComment> expectedOutput = parser.parse(config);
+        List<Callable<Map<String, ConfigEntryWithComment>>> tasks = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            tasks.add(() -> parser.parse(config));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<Map<String, ConfigEntryWithComment>> result : executor.invokeAll(tasks)) {
+                Map<String, ConfigEntryWithComment> actualOutput = result.get();
+
+                assertEquals(List.copyOf(expectedOutput.keySet()), List.copyOf(actualOutput.keySet()));
+                for (Map.Entry<String, ConfigEntryWithComment> entry : expectedOutput.entrySet()) {
+                    runTestOnEntry(entry.getValue(), actualOutput.get(entry.getKey()));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void parseTree() throws OffsetConfigException {
+        String config = """
+                # A block containing an integer
+                iHaveAnInteger:
+                    anInteger = 1234
+                    iHaveAFloat:
+                        # A float value
+                        aFloat = 12.34
+                aString = "Hello, World!"
+                """;
+
+        ConfigNode root = offsetConfig538.getParser().parseTree(config);
+
+        assertEquals(List.of("iHaveAnInteger", "aString"), List.copyOf(root.getChildren().keySet()));
+        ConfigNode block = root.getChild("iHaveAnInteger");
+        assertTrue(block.isBlock());
+        assertEquals("A block containing an integer", block.getComment());
+        assertEquals(1234, block.getChild("anInteger").getValue());
+        assertEquals("A float value", root.find("iHaveAnInteger.iHaveAFloat.aFloat").getComment());
+        assertEquals(12.34f, root.find("iHaveAnInteger.iHaveAFloat.aFloat").getValue());
+        assertNull(root.find("iHaveAnInteger.aFloat"));
+
+        Map<String, ConfigEntryWithComment> expectedOutput = offsetConfig538.getParser().parse(config);
+        assertEquals(List.copyOf(expectedOutput.entrySet()), List.copyOf(root.toFlatMap().entrySet()));
+    }
+
+    @Test
+    public void parseParallelWithInvalidValue() {
+        String config = """
+                anInteger = 1234
+                integerArray = Tint [
+                    1234
+                    notAnInteger
+                ]
+                """;
+
+        assertThrows(OffsetConfigException.class, () -> offsetConfig538.getParser().parseParallel(config));
+    }
+
+    @Test
+    public void parseIntoRecord() throws OffsetConfigException {
+        String config = """
+                # Not bound to anything
+                unknownBlock:
+                    unknownValue = 1234
+                    unknownInnerBlock:
+                        unknownValue = 4321
+                aString = "Hello, World!"
+                aLong = 1234
+                settings:
+                    aFloat = 12.34
+                    aBoolean = true
+                    integerArray = Tint [
+                        1
+                        2
+                    ]
+                    veryCoolObject = TVeryCoolObject {
+                        anInteger = 1234
+                        aFloat = 12.34
+                        aTrueBoolean = true
+                        aFalseBoolean = false
+                        aString = "Hello, World!"
+                    }
+                unknownValue = "Hi"
+                """;
+
+        BoundRecord bound = offsetConfig538.getParser().parseInto(config, BoundRecord.class);
+
+        assertEquals("Hello, World!", bound.aString());
+        assertEquals(1234L, bound.aLong());
+        assertEquals(0, bound.missingInteger());
+        assertEquals(12.34f, bound.settings().aFloat());
+        assertTrue(bound.settings().aBoolean());
+        assertArrayEquals(new int[] {1, 2}, bound.settings().integerArray());
+        assertNull(bound.settings().stringArray());
+        assertEquals(new VeryCoolObject(1234, 12.34f, true, false, "Hello, World!"), bound.settings().veryCoolObject());
+    }
+
+    @Test
+    public void parseIntoClass() throws OffsetConfigException, IOException {
+        String config = """
+                anInteger = 1234
+                aDouble = 12.34D
+                aWrappedInteger = 4321
+                stringArray = Tstring [
+                    "Hello"
+                    "World"
+                ]
+                inner:
+                    anInteger = 4321
+                """;
+
+        BoundClass bound = offsetConfig538.getParser().parseInto(new StringReader(config), BoundClass.class);
+
+        assertEquals(1234, bound.anInteger);
+        assertEquals(12.34, bound.aDouble);
+        assertEquals(Integer.valueOf(4321), bound.aWrappedInteger);
+        assertEquals("Default", bound.missingString);
+        assertArrayEquals(new Object[] {"Hello", "World"}, bound.stringArray);
+        assertEquals(4321, bound.inner.anInteger);
+        assertEquals("Default", bound.inner.missingString);
+        assertNull(bound.inner.inner);
+    }
+
+    @Test
+    public void parseIntoWithInvalidValue() {
+        assertThrows(OffsetConfigException.class, () -> offsetConfig538.getParser().parseInto("aLong = \"Not a number\"\n", BoundRecord.class));
+        assertThrows(OffsetConfigException.class, () -> offsetConfig538.getParser().parseInto("aString:\n    aLong = 1234\n", BoundRecord.class));
+        assertThrows(OffsetConfigException.class, () -> offsetConfig538.getParser().parseInto("aLong = 1234\n", Runnable.class));
+    }
+
+    public record BoundRecord(String aString, long aLong, int missingInteger, BoundSettings settings) {
+
+    }
+
+    public record BoundSettings(float aFloat, boolean aBoolean, int[] integerArray, String[] stringArray, VeryCoolObject veryCoolObject) {
+
+    }
+
+    public static class BoundClass {
+        public int anInteger;
+        public double aDouble;
+        public Integer aWrappedInteger;
+        public String missingString = "Default";
+        public String[] stringArray;
+        public BoundClass inner;
+    }
+
+
+    private void runTestOnEntry(ConfigEntryWithComment expectedEntry, ConfigEntryWithComment actualEntry) {
+        assertEquals(expectedEntry.comment(), actualEntry.comment());
+
+        Object expectedValue = expectedEntry.value();
+        Object actualValue = actualEntry.value();
+
+        if (expectedValue != null && expectedValue.getClass().isArray() && actualValue.getClass().isArray()) runTestOnArray(expectedValue, actualValue);
+        else assertEquals(expectedValue, actualValue);
+    }
 
     private void runTestWithComments(String config, Map<String, ConfigEntryWithComment> expectedOutput) throws OffsetConfigException {
         Map<String, ConfigEntryWithComment> actualOutput = offsetConfig538.getParser().parse(config);
@@ -696,8 +1059,12 @@ public class ParserTest {
     }
 
     private void runTestOnArray(Object expectedValue, Object actualValue) {
+        // Arrays of basic values are parsed into arrays of their type.
+        if (expectedValue.getClass().getComponentType().isPrimitive() || expectedValue instanceof String[]) assertEquals(expectedValue.getClass(), actualValue.getClass());
+
         Object[] expectedArray = ArrayUtils.castTo(expectedValue, Object.class);
+        Object[] actualArray = ArrayUtils.castTo(actualValue, Object.class);
 
-        assertArrayEquals(expectedArray, (Object[]) actualValue);
+        assertArrayEquals(expectedArray, actualArray);
     }
 }
@@ -0,0 +1,116 @@
+package top.offsetmonkey538.offsetconfig538.serialization;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
+import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolGeneratedObject;
+import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolGeneratedObjectOffsetConfigSerializer;
+import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolGeneratedObject_SettingsOffsetConfigSerializer;
+import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObject;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeneratedSerializerTest {
+    private static final OffsetConfig538 offsetConfig538 = new OffsetConfig538().addSerializer(
+            new VeryCoolObject.VeryCoolObjectSerializer(),
+            new VeryCoolGeneratedObjectOffsetConfigSerializer(),
+            new VeryCoolGeneratedObject_SettingsOffsetConfigSerializer()
+    );
+
+    @Test
+    public void generateAndParseRecord() throws OffsetConfigException {
+        String expectedOutput = """
+                aRecord = TVeryCoolGeneratedObject {
+                    anInteger = 1234
+                    aLong = 12345678901L
+                    aDouble = 12.34D
+                    aBoolean = true
+                    aString = "Hello, World!"
+                    intArray = Tint [
+                        1
+                        2
+                    ]
+                    stringArray = Tstring [
+                        "Hello"
+                        "World"
+                    ]
+                    anObject = TVeryCoolObject {
+                        anInteger = 4321
+                        aFloat = 43.21
+                        aTrueBoolean = true
+                        aFalseBoolean = false
+                        aString = "World, Hello!"
+                    }
+                }
+                """;
+        VeryCoolGeneratedObject value = new VeryCoolGeneratedObject(
+                1234,
+                12345678901L,
+                12.34,
+                true,
+                "Hello, World!",
+                new int[] {1, 2},
+                new String[] {"Hello", "World"},
+                new VeryCoolObject(4321, 43.21f, true, false, "World, Hello!")
+        );
+
+        runTest("aRecord", value, expectedOutput);
+    }
+
+    @Test
+    public void generateAndParseClass() throws OffsetConfigException {
+        String expectedOutput = """
+                aClass = Ttop.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolGeneratedObject$Settings {
+                    aFloat = 12.34
+                    anInteger = 1234
+                    longArray = Tlong [
+                        1234
+                        -12345678901
+                    ]
+                }
+                """;
+        VeryCoolGeneratedObject.Settings value = new VeryCoolGeneratedObject.Settings(12.34f, 1234, new long[] {1234L, -12345678901L});
+
+        runTest("aClass", value, expectedOutput);
+    }
+
+    @Test
+    public void parseWrapperValues() throws OffsetConfigException {
+        String config = """
+                aClass = Ttop.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolGeneratedObject$Settings {
+                    aFloat = 12
+                }
+                """;
+
+        // Missing wrappers are null.
+        assertEquals(new VeryCoolGeneratedObject.Settings(12f, null, null), offsetConfig538.getParser().parseWithoutComments(config).get("aClass"));
+
+        // Numbers aren't cut down to fit and other values aren't turned into null.
+        for (String value : new String[] {"12.5", "3000000000", "\"1234\"", "true"}) {
+            String wrongConfig = """
+                    aClass = Ttop.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolGeneratedObject$Settings {
+                        aFloat = 12
+                        anInteger = %s
+                    }
+                    """.formatted(value);
+
+            assertThrows(OffsetConfigException.class, () -> offsetConfig538.getParser().parseWithoutComments(wrongConfig));
+        }
+    }
+
+    private void runTest(String key, Object value, String expectedOutput) throws OffsetConfigException {
+        // Generated serializers read and write straight from the content, without an entries map.
+        assertTrue(offsetConfig538.getSerializerByTypeClass(value.getClass()) instanceof OffsetConfigStreamSerializer);
+
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put(key, value);
+
+        String actualOutput = offsetConfig538.getGenerator().generateFromObjects(input);
+        assertEquals(expectedOutput, actualOutput);
+
+        Map<String, Object> parsed = offsetConfig538.getParser().parseWithoutComments(actualOutput);
+        assertEquals(value, parsed.get(key));
+    }
+}
@@ -0,0 +1,179 @@
+package top.offsetmonkey538.offsetconfig538.serialization;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffsetConfigStreamSerializerTest {
+    private static final OffsetConfig538 offsetConfig538 = new OffsetConfig538().addSerializer(new StreamedObjectSerializer());
+
+    @Test
+    public void generateAndParse() throws OffsetConfigException {
+        String expectedOutput = """
+                anObject = TStreamedObject {
+                    anInteger = 1234
+                    aLong = 12345678901L
+                    aFloat = 12.34
+                    aDouble = 12.34D
+                    aBoolean = true
+                    aString = "Hello, World!"
+                    anArray = Tint [
+                        1
+                        2
+                    ]
+                }
+                """;
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("anObject", new StreamedObject(1234, 12345678901L, 12.34f, 12.34, true, "Hello, World!", new int[] {1, 2}));
+
+        String actualOutput = offsetConfig538.getGenerator().generateFromObjects(input);
+        assertEquals(expectedOutput, actualOutput);
+
+        assertEquals(input, offsetConfig538.getParser().parseWithoutComments(actualOutput));
+    }
+
+    @Test
+    public void parseOutOfOrder() throws OffsetConfigException {
+        String config = """
+                anObject = TStreamedObject {
+                    # Values that aren't read are skipped.
+                    unused = Tint [
+                        1
+                    ]
+                    anArray = Tint [
+                        1
+                        2
+                    ]
+                    aString = "Hello, World!"
+                    aDouble = 12
+                    aFloat = 12.34
+                    aLong = 1234
+                    anInteger = 1234
+                    alsoUnused = "Hello"
+                }
+                after = 1
+                """;
+        Map<String, Object> expectedOutput = new LinkedHashMap<>();
+        expectedOutput.put("anObject", new StreamedObject(1234, 1234L, 12.34f, 12, false, "Hello, World!", new int[] {1, 2}));
+        expectedOutput.put("after", 1);
+
+        assertEquals(expectedOutput, offsetConfig538.getParser().parseWithoutComments(config));
+    }
+
+    @Test
+    public void parseWrongType() {
+        String config = """
+                anObject = TStreamedObject {
+                    anInteger = 1234L
+                }
+                """;
+
+        assertThrows(OffsetConfigException.class, () -> offsetConfig538.getParser().parseWithoutComments(config));
+    }
+
+    @Test
+    public void readValuesAgain() {
+        String config = """
+                anObject = TRereadObject {
+                    aString = "Hello, World!"
+                    anInteger = 1234
+                }
+                """;
+        OffsetConfig538 offsetConfig538 = new OffsetConfig538().addSerializer(new RereadObjectSerializer());
+
+        // Values read in order aren't stored, so reading one again fails instead of returning null.
+        assertThrows(OffsetConfigException.class, () -> offsetConfig538.getParser().parseWithoutComments(config));
+    }
+
+    @Test
+    public void mapBasedMethods() throws OffsetConfigException {
+        StreamedObjectSerializer serializer = new StreamedObjectSerializer();
+        StreamedObject value = new StreamedObject(1234, 12345678901L, 12.34f, 12.34, true, "Hello, World!", new int[] {1, 2});
+
+        Map<String, Object> entries = new LinkedHashMap<>();
+        serializer.serialize(entries, value);
+
+        assertEquals(1234, entries.get("anInteger"));
+        assertEquals(value, serializer.deserialize(entries));
+        assertSame(StreamedObject.class, serializer.getTypeClass());
+    }
+
+    public record StreamedObject(int anInteger, long aLong, float aFloat, double aDouble, boolean aBoolean, String aString, int[] anArray) {
+
+        // Just so the test actually compares the objects correctly.
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof StreamedObject that)) return false;
+
+            return anInteger == that.anInteger && aLong == that.aLong && aFloat == that.aFloat && aDouble == that.aDouble && aBoolean == that.aBoolean && aString.equals(that.aString) && Arrays.equals(anArray, that.anArray);
+        }
+    }
+
+    public record RereadObject(String aString, int anInteger) {
+
+    }
+
+    public static class RereadObjectSerializer implements OffsetConfigStreamSerializer<RereadObject> {
+        @Override
+        public RereadObject read(ConfigObjectReader in) throws OffsetConfigException {
+            String aString = in.readString("aString");
+            int anInteger = in.readInt("anInteger");
+
+            // Values that were read are still found, no matter the order of the keys.
+            assertTrue(in.has("aString"));
+            assertTrue(in.has("anInteger"));
+            assertFalse(in.has("missing"));
+
+            in.readString("aString");
+            return new RereadObject(aString, anInteger);
+        }
+
+        @Override
+        public void write(ConfigObjectWriter out, RereadObject value) throws OffsetConfigException {
+            out.writeString("aString", value.aString());
+            out.writeInt("anInteger", value.anInteger());
+        }
+
+        @Override
+        public String getType() {
+            return "RereadObject";
+        }
+    }
+
+    public static class StreamedObjectSerializer implements OffsetConfigStreamSerializer<StreamedObject> {
+        @Override
+        public StreamedObject read(ConfigObjectReader in) throws OffsetConfigException {
+            return new StreamedObject(
+                    in.readInt("anInteger"),
+                    in.readLong("aLong"),
+                    in.readFloat("aFloat"),
+                    in.readDouble("aDouble"),
+                    in.has("aBoolean") && in.readBoolean("aBoolean"),
+                    in.readString("aString"),
+                    in.readIntArray("anArray")
+            );
+        }
+
+        @Override
+        public void write(ConfigObjectWriter out, StreamedObject value) throws OffsetConfigException {
+            out.writeInt("anInteger", value.anInteger());
+            out.writeLong("aLong", value.aLong());
+            out.writeFloat("aFloat", value.aFloat());
+            out.writeDouble("aDouble", value.aDouble());
+            out.writeBoolean("aBoolean", value.aBoolean());
+            out.writeString("aString", value.aString());
+            out.writeValue("anArray", value.anArray());
+        }
+
+        @Override
+        public String getType() {
+            return "StreamedObject";
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package top.offsetmonkey538.offsetconfig538.serialization;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import top.offsetmonkey538.offsetconfig538.OffsetConfig538;
+import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObject;
+import top.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObjectWithArray;
+import top.offsetmonkey538.offsetconfig538.exception.OffsetConfigException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecordSerializerTest {
+
+    @Test
+    public void generateAndParseRecords() throws OffsetConfigException {
+        String expectedOutput = """
+                anObject = Ttop.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObject {
+                    anInteger = 1234
+                    aFloat = 12.34
+                    aTrueBoolean = true
+                    aFalseBoolean = false
+                    aString = "Hello, World!"
+                }
+                anObjectWithArray = Ttop.offsetmonkey538.offsetconfig538.exampleclasses.VeryCoolObjectWithArray {
+                    firstArray = Tint [
+                        1234
+                        4321
+                    ]
+                    secondArray = Tstring [
+                        "Hello"
+                        "World"
+                    ]
+                }
+                """;
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("anObject", new VeryCoolObject(1234, 12.34f, true, false, "Hello, World!"));
+        input.put("anObjectWithArray", new VeryCoolObjectWithArray(new int[] {1234, 4321}, new String[] {"Hello", "World"}));
+
+        // Records are serialized without adding their serializers, but parsing them needs the serializers to be added.
+        String actualOutput = new OffsetConfig538().getGenerator().generateFromObjects(input);
+        assertEquals(expectedOutput, actualOutput);
+
+        OffsetConfig538 offsetConfig538 = new OffsetConfig538().addSerializer(RecordSerializer.of(VeryCoolObject.class), RecordSerializer.of(VeryCoolObjectWithArray.class));
+        Map<String, Object> actualInput = offsetConfig538.getParser().parseWithoutComments(actualOutput);
+        assertEquals(input, actualInput);
+    }
+
+    @Test
+    public void recordsNotCreatedFromTypeNames() {
+        String config = """
+                anObject = Ttop.offsetmonkey538.offsetconfig538.serialization.RecordSerializerTest$Probe {
+                    command = "Hello, World!"
+                }
+                """;
+        OffsetConfig538 offsetConfig538 = new OffsetConfig538();
+
+        // Serializing finds the serializer, but that doesn't make the type parseable.
+        assertNotNull(offsetConfig538.getSerializerByTypeClass(Probe.class));
+        assertNull(offsetConfig538.getSerializerByType(Probe.class.getName()));
+        assertThrows(OffsetConfigException.class, () -> offsetConfig538.getParser().parse(config));
+        assertFalse(Probe.created);
+    }
+
+    public record Probe(String command) {
+        private static boolean created;
+
+        public Probe {
+            created = true;
+        }
+    }
+
+    @Test
+    public void sameSerializerAsHandWritten() throws OffsetConfigException {
+        VeryCoolObject value = new VeryCoolObject(1234, 12.34f, true, false, "Hello, World!");
+        OffsetConfigSerializer<VeryCoolObject> handWritten = new VeryCoolObject.VeryCoolObjectSerializer();
+        RecordSerializer<VeryCoolObject> serializer = RecordSerializer.of(VeryCoolObject.class);
+
+        Map<String, Object> expectedEntries = new LinkedHashMap<>();
+        handWritten.serialize(expectedEntries, value);
+        Map<String, Object> actualEntries = new LinkedHashMap<>();
+        serializer.serialize(actualEntries, value);
+
+        assertEquals(expectedEntries, actualEntries);
+        assertEquals(value, serializer.deserialize(actualEntries));
+        assertSame(serializer, RecordSerializer.of(VeryCoolObject.class));
+        assertSame(VeryCoolObject.class, serializer.getTypeClass());
+    }
+
+    @Test
+    public void missingValue() {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        entries.put("anInteger", 1234);
+
+        assertThrows(OffsetConfigException.class, () -> RecordSerializer.of(VeryCoolObject.class).deserialize(entries));
+    }
+
+    @Test
+    public void widenNumbers() throws OffsetConfigException {
+        RecordSerializer<Numbers> serializer = RecordSerializer.of(Numbers.class);
+
+        assertEquals(new Numbers(1, 2L, 3f, 4.0, 5, null), serializer.deserialize(numberEntries(1, 2, 3, 4, 5, null)));
+        assertEquals(new Numbers(1, 3000000000L, 3000000000L, 1.5f, 5, 6L), serializer.deserialize(numberEntries(1, 3000000000L, 3000000000L, 1.5f, 5, 6)));
+    }
+
+    @Test
+    public void narrowNumbers() {
+        RecordSerializer<Numbers> serializer = RecordSerializer.of(Numbers.class);
+
+        // A fraction or a long isn't cut down to fit an int.
+        assertThrows(OffsetConfigException.class, () -> serializer.deserialize(numberEntries(1.5f, 2, 3, 4, 5, null)));
+        assertThrows(OffsetConfigException.class, () -> serializer.deserialize(numberEntries(3000000000L, 2, 3, 4, 5, null)));
+        assertThrows(OffsetConfigException.class, () -> serializer.deserialize(numberEntries(1, 2, 3.5, 4, 5, null)));
+        assertThrows(OffsetConfigException.class, () -> serializer.deserialize(numberEntries(1, 2, 3, 4, 5.5f, null)));
+    }
+
+    @Test
+    public void wrongTypes() {
+        RecordSerializer<Numbers> serializer = RecordSerializer.of(Numbers.class);
+
+        // Wrappers are only null when the value is missing.
+        assertThrows(OffsetConfigException.class, () -> serializer.deserialize(numberEntries(1, 2, 3, 4, "5", null)));
+        assertThrows(OffsetConfigException.class, () -> serializer.deserialize(numberEntries(1, 2, 3, 4, 5, "6")));
+        assertThrows(OffsetConfigException.class, () -> serializer.deserialize(numberEntries(true, 2, 3, 4, 5, null)));
+    }
+
+    private static Map<String, Object> numberEntries(Object anInt, Object aLong, Object aFloat, Object aDouble, Object anInteger, Object aLongWrapper) {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        entries.put("anInt", anInt);
+        entries.put("aLong", aLong);
+        entries.put("aFloat", aFloat);
+        entries.put("aDouble", aDouble);
+        entries.put("anInteger", anInteger);
+        entries.put("aLongWrapper", aLongWrapper);
+        return entries;
+    }
+
+    public record Numbers(int anInt, long aLong, float aFloat, double aDouble, Integer anInteger, Long aLongWrapper) {
+
+    }
+}
@@ -3,6 +3,9 @@ package top.offsetmonkey538.offsetconfig538.util;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class ArrayUtilsTest {
 
@@ -91,4 +94,59 @@ public class ArrayUtilsTest {
 
         assertArrayEquals(expected, actual);
     }
+
+    @Test
+    public void castBoxedArrayToLongArray() {
+        Object input = new Object[] {
+                1L,
+                -12345678901L
+        };
+        long[] expected = new long[] {
+                1L,
+                -12345678901L
+        };
+        long[] actual = ArrayUtils.castToLong(input);
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void primitiveArraysAreNotCopied() {
+        int[] intArray = new int[] {1, 2};
+        double[] doubleArray = new double[] {1.5, 2.5};
+
+        assertSame(intArray, ArrayUtils.castToInt(intArray));
+        assertSame(doubleArray, ArrayUtils.castToDouble(doubleArray));
+    }
+
+    @Test
+    public void viewArraysWithoutCopying() {
+        int[] intArray = new int[] {1, 2, 3};
+        Object[] boxedFloatArray = new Object[] {1.5f, 2.5f};
+
+        IntArrayView intView = ArrayUtils.viewAsInt(intArray);
+        FloatArrayView floatView = ArrayUtils.viewAsFloat(boxedFloatArray);
+
+        intArray[1] = 5;
+        assertEquals(3, intView.length());
+        assertEquals(5, intView.get(1));
+        assertEquals(2.5f, floatView.get(1));
+
+        int[] intDestination = new int[4];
+        intView.copyInto(intDestination, 1);
+        assertArrayEquals(new int[] {0, 1, 5, 3}, intDestination);
+
+        float[] floatDestination = new float[2];
+        floatView.copyInto(floatDestination);
+        assertArrayEquals(new float[] {1.5f, 2.5f}, floatDestination);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> intView.copyInto(new int[2]));
+    }
+
+    @Test
+    public void viewArrayOfWrongType() {
+        assertThrows(ArrayStoreException.class, () -> ArrayUtils.viewAsInt(new Object[] {1, "Not an integer"}));
+        assertThrows(ArrayStoreException.class, () -> ArrayUtils.viewAsInt(new long[] {1L}));
+        assertThrows(IllegalArgumentException.class, () -> ArrayUtils.viewAsInt("Not an array"));
+    }
 }